@@ -0,0 +1,132 @@
+package br.com.mauricioborges.graficos.bancada;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Medições de desempenho dos métodos numéricos e da amostragem.<br>
+ * As classes deste pacote ficam em src/bench/java e só são compiladas com o
+ * perfil <code>bancada</code>, que as inclui no módulo (e por isso têm acesso
+ * aos pacotes não exportados):
+ * <pre><code>mvn -Pbancada clean compile
+ * java --add-modules jdk.incubator.vector -p target/classes:&lt;jars do JavaFX&gt; \
+ *     -m br.com.mauricioborges.graficos/br.com.mauricioborges.graficos.bancada.Bancada [cenário...]</code></pre>
+ * Sem argumentos, todos os cenários são executados. Cada medição é aquecida
+ * e repetida; é exibida a mediana dos tempos e a vazão correspondente. Os
+ * dados são gerados com semente fixa, de modo que execuções diferentes medem
+ * exatamente o mesmo trabalho. O número de repetições pode ser alterado com
+ * <code>-Dbancada.repeticoes=n</code>.<br>
+ * Rode <code>mvn clean compile</code> sem o perfil antes de empacotar a
+ * biblioteca, para que estas classes não entrem no jar.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class Bancada {
+
+    private static final int REPETICOES = Integer.getInteger("bancada.repeticoes", 15);
+    private static final long AQUECIMENTO_NS = 1_000_000_000L;
+
+    private static final Map<String, Runnable> CENARIOS = new LinkedHashMap<>();
+
+    static {
+        CENARIOS.put("vetorial", BancadaVetorial::executar);
+        CENARIOS.put("minimosquadrados", BancadaMinimosQuadrados::executar);
+        CENARIOS.put("janelas", BancadaJanelasMoveis::executar);
+        CENARIOS.put("decimacao", BancadaDecimacao::executar);
+    }
+
+    // consome os resultados para que o JIT não elimine o trabalho medido
+    private static volatile double sumidouro;
+
+    private Bancada() {
+    }
+
+    /**
+     * Executa os cenários informados, ou todos
+     *
+     * @param args nomes dos cenários
+     */
+    public static void main(String[] args) {
+        List<String> nomes = args.length > 0 ? Arrays.asList(args) : List.copyOf(CENARIOS.keySet());
+        for (String nome : nomes) {
+            Runnable cenario = CENARIOS.get(nome);
+            if (cenario == null) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + nome + ". Disponíveis: " + CENARIOS.keySet());
+            }
+            System.out.println();
+            System.out.println("== " + nome + " ==");
+            cenario.run();
+        }
+    }
+
+    /**
+     * Mede uma tarefa e exibe a mediana dos tempos e a vazão
+     *
+     * @param nome descrição da medição
+     * @param elementos número de elementos processados por execução
+     * @param tarefa tarefa medida; o valor retornado é consumido
+     * @return mediana dos tempos, em segundos
+     */
+    static double medir(String nome, double elementos, DoubleSupplier tarefa) {
+        long fimAquecimento = System.nanoTime() + AQUECIMENTO_NS;
+        int aquecimentos = 0;
+        while (aquecimentos < 3 || System.nanoTime() < fimAquecimento) {
+            sumidouro += tarefa.getAsDouble();
+            aquecimentos++;
+        }
+        long[] tempos = new long[REPETICOES];
+        for (int r = 0; r < REPETICOES; r++) {
+            long inicio = System.nanoTime();
+            sumidouro += tarefa.getAsDouble();
+            tempos[r] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        double mediana = tempos[REPETICOES / 2] * 1e-9;
+        System.out.printf(Locale.ROOT, "%-48s %12.3f ms %12.2f M/s%n", nome, mediana * 1e3, elementos / mediana * 1e-6);
+        return mediana;
+    }
+
+    /**
+     * Passeio aleatório
+     *
+     * @param n número de pontos
+     * @param semente semente do gerador (dados diferentes devem usar
+     * sementes diferentes)
+     * @return valores do passeio
+     */
+    static double[] passeio(int n, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        double[] y = new double[n];
+        double v = 0;
+        for (int i = 0; i < n; i++) {
+            v += aleatorio.nextDouble() - 0.5;
+            y[i] = v;
+        }
+        return y;
+    }
+
+    /**
+     * Valores uniformes em [inferior, superior)
+     *
+     * @param n número de valores
+     * @param inferior limite inferior
+     * @param superior limite superior
+     * @param semente semente do gerador (dados diferentes devem usar
+     * sementes diferentes)
+     * @return valores
+     */
+    static double[] uniforme(int n, double inferior, double superior, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = aleatorio.nextDouble(inferior, superior);
+        }
+        return v;
+    }
+}
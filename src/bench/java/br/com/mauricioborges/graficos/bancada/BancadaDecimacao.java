@@ -0,0 +1,128 @@
+package br.com.mauricioborges.graficos.bancada;
+
+import static br.com.mauricioborges.graficos.bancada.Bancada.medir;
+import static br.com.mauricioborges.graficos.bancada.Bancada.passeio;
+
+import br.com.mauricioborges.graficos.math.amostragem.Decimacao;
+import br.com.mauricioborges.graficos.math.amostragem.PiramideMinMax;
+import br.com.mauricioborges.graficos.math.amostragem.Polilinha;
+import java.util.Locale;
+
+/**
+ * Tempo por quadro do traçado de uma série no Canvas, sem decimação e com
+ * cada modo de decimação, para a série inteira visível e para um zoom em 10%
+ * dela.<br>
+ * O trabalho de um quadro na thread do JavaFX é a decimação (quando houver)
+ * seguida da conversão de cada ponto resultante para pixels, com a mesma
+ * aritmética de NumberAxis.getDisplayPosition, e da sua emissão para o
+ * caminho desenhado (coordenadas em float e um tipo de segmento por ponto,
+ * como no caminho do GraphicsContext). Sem decimação, todos os pontos
+ * visíveis são convertidos e emitidos. A rasterização do traço, feita depois
+ * pelo Prism e proporcional ao número de pontos emitidos, não entra na
+ * medição; a redução exibida é, portanto, um limite inferior. Os parâmetros
+ * são os usados pelo gráfico: uma coluna por pixel em M4 e dois pontos por
+ * coluna em LTTB. A pirâmide min/max é construída uma vez, fora da medição,
+ * como acontece ao plotar. A última medição de cada janela é a de uma
+ * repintura sem mudança do eixo X, em que o gráfico reaproveita a linha
+ * decimada no quadro anterior.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class BancadaDecimacao {
+
+    private static final int[] PONTOS = {1_000_000, 10_000_000};
+    private static final int COLUNAS = 1920;
+    private static final int LINHAS = 1080;
+
+    private BancadaDecimacao() {
+    }
+
+    static void executar() {
+        for (int n : PONTOS) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = i;
+            }
+            Polilinha pontos = new Polilinha(x, passeio(n, 1));
+            PiramideMinMax piramide = PiramideMinMax.construir(pontos);
+            double[][] janelas = {{0, n - 1}, {0.45 * n, 0.55 * n}};
+            for (double[] janela : janelas) {
+                double inferior = janela[0];
+                double superior = janela[1];
+                // pontos visíveis (x é a posição do ponto)
+                int primeiro = (int) Math.ceil(inferior);
+                int ultimo = (int) Math.floor(superior);
+                double visiveis = ultimo - primeiro + 1;
+                Eixos eixos = new Eixos(pontos, primeiro, ultimo + 1, inferior, superior);
+                String sufixo = String.format(" n = %d, %s", n, superior - inferior < n - 1 ? "zoom 10%" : "inteira");
+                double base = medir("sem decimação" + sufixo, visiveis, () -> eixos.emitir(pontos, primeiro, ultimo + 1));
+                reducao(base, medir("M4" + sufixo, visiveis,
+                        () -> eixos.emitir(Decimacao.m4(pontos, inferior, superior, COLUNAS))),
+                        Decimacao.m4(pontos, inferior, superior, COLUNAS));
+                reducao(base, medir("M4 (pirâmide)" + sufixo, visiveis,
+                        () -> eixos.emitir(piramide.m4(inferior, superior, COLUNAS))),
+                        piramide.m4(inferior, superior, COLUNAS));
+                reducao(base, medir("LTTB" + sufixo, visiveis,
+                        () -> eixos.emitir(Decimacao.lttb(pontos, inferior, superior, 2 * COLUNAS))),
+                        Decimacao.lttb(pontos, inferior, superior, 2 * COLUNAS));
+                Polilinha guardada = piramide.m4(inferior, superior, COLUNAS);
+                reducao(base, medir("repintura, decimação guardada" + sufixo, visiveis, () -> eixos.emitir(guardada)), guardada);
+            }
+        }
+    }
+
+    private static void reducao(double base, double tempo, Polilinha decimada) {
+        System.out.printf(Locale.ROOT, "  %-46s %12.1fx %9d pontos emitidos%n", "redução do tempo por quadro", base / tempo,
+                decimada.getTamanho());
+    }
+
+    /**
+     * Conversão para pixels de uma área de traçado de COLUNAS x LINHAS, como
+     * a de NumberAxis.getDisplayPosition, com a emissão das coordenadas para
+     * um caminho reaproveitado entre os quadros
+     */
+    private static final class Eixos {
+
+        private final double inferiorX;
+        private final double escalaX;
+        private final double inferiorY;
+        private final double escalaY;
+        private final float[] coordenadas;
+        private final byte[] tipos;
+
+        Eixos(Polilinha pontos, int inicio, int fim, double inferior, double superior) {
+            double minimo = Double.MAX_VALUE;
+            double maximo = -Double.MAX_VALUE;
+            for (int i = inicio; i < fim; i++) {
+                minimo = Math.min(minimo, pontos.getY(i));
+                maximo = Math.max(maximo, pontos.getY(i));
+            }
+            this.inferiorX = inferior;
+            this.escalaX = COLUNAS / (superior - inferior);
+            this.inferiorY = minimo;
+            this.escalaY = -LINHAS / (maximo - minimo);
+            this.coordenadas = new float[2 * (fim - inicio)];
+            this.tipos = new byte[fim - inicio];
+        }
+
+        double emitir(Polilinha p) {
+            return emitir(p, 0, p.getTamanho());
+        }
+
+        double emitir(Polilinha p, int inicio, int fim) {
+            int k = 0;
+            for (int s = 0; s < p.getNumeroDeSegmentos(); s++) {
+                int a = Math.max(p.getInicioSegmento(s), inicio);
+                int b = Math.min(p.getFimSegmento(s), fim);
+                for (int i = a; i < b; i++) {
+                    tipos[k] = (byte) (i == a ? 0 : 1);
+                    coordenadas[2 * k] = (float) ((p.getX(i) - inferiorX) * escalaX);
+                    coordenadas[2 * k + 1] = (float) (LINHAS + (p.getY(i) - inferiorY) * escalaY);
+                    k++;
+                }
+            }
+            return k > 0 ? coordenadas[2 * k - 1] : 0;
+        }
+    }
+}
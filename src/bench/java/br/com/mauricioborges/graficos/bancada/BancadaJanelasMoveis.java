@@ -0,0 +1,52 @@
+package br.com.mauricioborges.graficos.bancada;
+
+import static br.com.mauricioborges.graficos.bancada.Bancada.medir;
+import static br.com.mauricioborges.graficos.bancada.Bancada.passeio;
+
+import br.com.mauricioborges.graficos.math.metodosnumericos.MediaMovel;
+import br.com.mauricioborges.graficos.math.metodosnumericos.QuantilMovel;
+
+/**
+ * Médias e quantis móveis sobre uma mesma série, com janelas de 10 até 10⁵
+ * pontos.<br>
+ * As médias devem ter custo independente da janela; a mediana e os quantis
+ * móveis crescem com log k.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class BancadaJanelasMoveis {
+
+    private static final int N = 1_000_000;
+    private static final int[] JANELAS = {10, 100, 1_000, 10_000, 100_000};
+
+    private BancadaJanelasMoveis() {
+    }
+
+    static void executar() {
+        double[] y = passeio(N, 1);
+        double[] saida = new double[N];
+        for (int k : JANELAS) {
+            medir("média simples     k = " + k, N, () -> {
+                MediaMovel.simples(N, y, k, saida);
+                return saida[0];
+            });
+            medir("média ponderada   k = " + k, N, () -> {
+                MediaMovel.ponderada(N, y, k, saida);
+                return saida[0];
+            });
+            medir("média exponencial k = " + k, N, () -> {
+                MediaMovel.exponencial(N, y, k, saida);
+                return saida[0];
+            });
+            medir("mediana           k = " + k, N, () -> {
+                QuantilMovel.calcular(N, y, k, 0.5, saida);
+                return saida[0];
+            });
+            medir("quantil 0,9       k = " + k, N, () -> {
+                QuantilMovel.calcular(N, y, k, 0.9, saida);
+                return saida[0];
+            });
+        }
+    }
+}
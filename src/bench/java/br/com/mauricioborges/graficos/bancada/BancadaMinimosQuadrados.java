@@ -0,0 +1,57 @@
+package br.com.mauricioborges.graficos.bancada;
+
+import static br.com.mauricioborges.graficos.bancada.Bancada.medir;
+import static br.com.mauricioborges.graficos.bancada.Bancada.uniforme;
+
+import br.com.mauricioborges.graficos.math.metodosnumericos.Householder;
+import br.com.mauricioborges.graficos.math.metodosnumericos.MomentosPolinomiais;
+
+/**
+ * Ajuste polinomial pelas equações normais (Cholesky) e pela decomposição QR
+ * (Householder), partindo dos mesmos pontos.<br>
+ * Cada execução inclui a preparação feita pelo gráfico: as somas de potências
+ * no caso de Cholesky e a matriz de planejamento no caso de QR. Os pontos
+ * são uma parábola com ruído uniforme, gerado independentemente de x.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class BancadaMinimosQuadrados {
+
+    private static final int[] PONTOS = {1_000, 100_000, 1_000_000};
+    private static final int[] GRAUS = {1, 3, 6};
+
+    private BancadaMinimosQuadrados() {
+    }
+
+    static void executar() {
+        for (int n : PONTOS) {
+            double[] x = uniforme(n, -1, 1, 1);
+            double[] y = uniforme(n, -0.1, 0.1, 2);
+            for (int i = 0; i < n; i++) {
+                y[i] += 1 + 2 * x[i] - 0.5 * x[i] * x[i];
+            }
+            for (int grau : GRAUS) {
+                medir("Cholesky n = " + n + ", grau " + grau, n, () -> {
+                    MomentosPolinomiais momentos = new MomentosPolinomiais(grau);
+                    momentos.adicionar(n, x, y);
+                    return momentos.ajustar(grau).getR2();
+                });
+                medir("QR       n = " + n + ", grau " + grau, n, () -> {
+                    int p = grau + 1;
+                    double[] A = new double[n * p];
+                    for (int i = 0; i < n; i++) {
+                        double potencia = 1;
+                        for (int j = 0; j < p; j++) {
+                            A[j * n + i] = potencia;
+                            potencia *= x[i];
+                        }
+                    }
+                    Householder qr = new Householder(n, p, A, y.clone());
+                    qr.solve();
+                    return qr.getR2();
+                });
+            }
+        }
+    }
+}
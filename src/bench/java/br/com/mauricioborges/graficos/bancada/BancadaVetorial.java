@@ -0,0 +1,53 @@
+package br.com.mauricioborges.graficos.bancada;
+
+import static br.com.mauricioborges.graficos.bancada.Bancada.medir;
+import static br.com.mauricioborges.graficos.bancada.Bancada.uniforme;
+import static java.util.Arrays.fill;
+
+import br.com.mauricioborges.graficos.math.metodosnumericos.MediaMovel;
+import br.com.mauricioborges.graficos.math.metodosnumericos.MomentosPolinomiais;
+import br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais;
+
+/**
+ * Operações elementares com o núcleo em uso (escalar ou Vector API).<br>
+ * Para comparar larguras de vetor, rode o cenário uma vez sem
+ * <code>--add-modules jdk.incubator.vector</code> (núcleo escalar) e depois
+ * com o módulo e <code>-XX:MaxVectorSize=16</code>, <code>32</code> e
+ * <code>64</code> (128, 256 e 512 bits, conforme o processador suportar). A
+ * largura efetiva é exibida no cabeçalho.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class BancadaVetorial {
+
+    private static final int N = 1 << 20;
+
+    private BancadaVetorial() {
+    }
+
+    static void executar() {
+        System.out.println("Núcleo: " + OperacoesVetoriais.getDescricao());
+        double[] a = uniforme(N, -1, 1, 1);
+        double[] b = uniforme(N, 0.5, 1.5, 2);
+        double[] uns = new double[N];
+        fill(uns, 1);
+        double[] saida = new double[N];
+
+        medir("soma", N, () -> OperacoesVetoriais.soma(a, 0, N));
+        medir("produto escalar", N, () -> OperacoesVetoriais.produtoEscalar(a, 0, b, 0, N));
+        medir("multiplicação elemento a elemento", N, () -> {
+            OperacoesVetoriais.multiplicar(a, 0, uns, 0, N);
+            return a[N - 1];
+        });
+        medir("média móvel simples (k = 100)", N, () -> {
+            MediaMovel.simples(N, a, 100, saida);
+            return saida[0];
+        });
+        medir("momentos polinomiais (grau 3)", N, () -> {
+            MomentosPolinomiais momentos = new MomentosPolinomiais(3);
+            momentos.adicionar(N, a, b);
+            return momentos.getNumeroDePontos();
+        });
+    }
+}
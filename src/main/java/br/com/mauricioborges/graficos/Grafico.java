@@ -1,276 +1,764 @@
-package br.com.mauricioborges.graficos;
-
-import br.com.mauricioborges.graficos.gui.CenaGraficoController;
-import br.com.mauricioborges.graficos.math.Funcao;
-import static br.com.mauricioborges.graficos.utils.FXUtils.findResource;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import static java.util.Objects.requireNonNull;
-import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.scene.image.Image;
-import javafx.scene.layout.AnchorPane;
-import javafx.stage.Stage;
-
-/**
- * Representa um gráfico. Exemplo de uso:
- *
- * <pre><code>
- * Funcao f = x -> Math.sin(x);
- * Grafico g = new Grafico();
- * g.plotFuncao(f, 0, 2*Math.PI, "Seno");
- * g.show(stage);
- * </code></pre>
- *
- * @author Mauricio Borges
- * @since 2018
- */
-public final class Grafico extends Application {
-
-    private CenaGraficoController controle;
-    private String tituloJanela = "Gráficos JavaFX";
-    private String tituloGrafico = null;
-    private String tituloEixoX = null;
-    private String tituloEixoY = null;
-    private boolean jaAbriuGrafico = false;
-    // Funcoes
-    private final List<Funcao> funcoes = new ArrayList<>();
-    private final List<Double> inicio = new ArrayList<>();
-    private final List<Double> fim = new ArrayList<>();
-    private final List<String> tituloFuncoes = new ArrayList<>();
-    private final List<Estilo> estiloFuncoes = new ArrayList<>();
-    // Pontos
-    private final List<Double[]> x = new ArrayList<>();
-    private final List<Double[]> y = new ArrayList<>();
-    private final List<String> tituloPontos = new ArrayList<>();
-    private final List<Estilo> estiloPontos = new ArrayList<>();
-    private final List<LinhaDeTendencia[]> linhasDeTendencia = new ArrayList<>();
-
-    /**
-     * Definir o título da janela
-     *
-     * @param tituloJanela título da janela
-     */
-    public void setTituloJanela(String tituloJanela) {
-        this.tituloJanela = tituloJanela;
-    }
-
-    /**
-     * Definir o título do gráfico
-     *
-     * @param tituloGrafico título do gráfico
-     */
-    public void setTituloGrafico(String tituloGrafico) {
-        this.tituloGrafico = tituloGrafico;
-    }
-
-    /**
-     * Definir o título do eixo X
-     *
-     * @param tituloEixoX título do eixo X
-     */
-    public void setTituloEixoX(String tituloEixoX) {
-        this.tituloEixoX = tituloEixoX;
-    }
-
-    /**
-     * Definir o título do eixo Y
-     *
-     * @param tituloEixoY título do eixo Y
-     */
-    public void setTituloEixoY(String tituloEixoY) {
-        this.tituloEixoY = tituloEixoY;
-    }
-
-    /**
-     * Plotar função em determinado intervalo
-     *
-     * @param funcao função
-     * @param inicio início do intervalo
-     * @param fim fim do intervalo
-     * @param titulo legenda do gráfico
-     * @param estilo opções de estilo
-     */
-    public void plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo) {
-        this.funcoes.add(requireNonNull(funcao, "A função não pode ser nula."));
-        this.inicio.add(inicio);
-        this.fim.add(fim);
-        this.tituloFuncoes.add(requireNonNull(titulo, "O título da função não pode ser nulo."));
-        this.estiloFuncoes.add(requireNonNull(estilo, "O estilo da função não pode ser nulo."));
-
-        if (controle != null) {
-            controle.plotFuncao(funcao, inicio, fim, titulo, estilo);
-        }
-    }
-
-    /**
-     * Plotar função em determinado intervalo com o estilo padrão
-     *
-     * @param funcao função
-     * @param inicio início do intervalo
-     * @param fim fim do intervalo
-     * @param titulo legenda do gráfico
-     */
-    public void plotFuncao(Funcao funcao, double inicio, double fim, String titulo) {
-        this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
-    }
-
-    /**
-     * Plotar um conjunto de pontos
-     *
-     * @param x array com os valores de X
-     * @param y array com os valores de Y
-     * @param titulo legenda do gráfico
-     * @param estilo opções de estilo
-     * @param linhasDeTendencia linhas de tendência
-     */
-    public void plotPontos(Double[] x, Double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
-        if (x.length != y.length) {
-            throw new UnsupportedOperationException("Os arrays de X e Y devem ter o mesmo tamanho.");
-        }
-        this.x.add(x);
-        this.y.add(y);
-        this.tituloPontos.add(requireNonNull(titulo, "O título dos pontos não pode ser nulo."));
-        this.estiloPontos.add(requireNonNull(estilo, "O estilo dos pontos não pode ser nulo."));
-        this.linhasDeTendencia.add(linhasDeTendencia);
-
-        if (controle != null) {
-            controle.plotPontos(x, y, titulo, estilo, linhasDeTendencia);
-        }
-    }
-
-    /**
-     * Plotar um conjunto de pontos com o estilo padrão (com linha e marcador) e
-     * sem linha de tendência
-     *
-     * @param x array com os valores de X
-     * @param y array com os valores de Y
-     * @param titulo legenda do gráfico
-     */
-    public void plotPontos(Double[] x, Double[] y, String titulo) {
-        this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR);
-    }
-
-    /**
-     * Plotar um conjunto de pontos sem linha de tendência
-     *
-     * @param x array com os valores de X
-     * @param y array com os valores de Y
-     * @param titulo legenda do gráfico
-     * @param estilo opções de estilo
-     */
-    public void plotPontos(Double[] x, Double[] y, String titulo, Estilo estilo) {
-        this.plotPontos(x, y, titulo, estilo, (LinhaDeTendencia) null);
-    }
-
-    /**
-     * Plotar um conjunto de pontos com o estilo padrão (com linha e marcador)
-     *
-     * @param x array com os valores de X
-     * @param y array com os valores de Y
-     * @param titulo legenda do gráfico
-     * @param linhasDeTendencia linhas de tendência
-     */
-    public void plotPontos(Double[] x, Double[] y, String titulo, LinhaDeTendencia... linhasDeTendencia) {
-        this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR, linhasDeTendencia);
-    }
-
-    private Parent carregarFXML() {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(findResource("gui/CenaGrafico.fxml"));
-        Parent root;
-        try {
-            root = loader.load();
-            controle = loader.getController();
-        } catch (IOException ex) {
-            throw new RuntimeException("Erro ao tentar carregar o FXML do gráfico.", ex);
-        }
-
-        // titulo do gráfico no controller
-        controle.setTituloGrafico(tituloGrafico);
-        // titulo dos eixos no controller
-        controle.setTituloEixos(tituloEixoX, tituloEixoY);
-
-        return root;
-    }
-
-    /**
-     * Exibir o gráfico em um AnchorPane.
-     *
-     * @param painel painel onde o gráfico será exibido
-     */
-    public final void show(AnchorPane painel) {
-        if (jaAbriuGrafico) {
-            return;
-        }
-        requireNonNull(painel, "O painel não pode ser nulo.");
-
-        Parent p = carregarFXML();
-        painel.getChildren().clear();
-        painel.getChildren().add(p);
-
-        AnchorPane.setTopAnchor(p, 0d);
-        AnchorPane.setBottomAnchor(p, 0d);
-        AnchorPane.setLeftAnchor(p, 0d);
-        AnchorPane.setRightAnchor(p, 0d);
-        show((Stage) null);
-    }
-
-    /**
-     * Exibir o gráfico em uma janela.<br>
-     * Mesmo que chamar o método <code>start(Stage janela)</code>
-     *
-     * @param janela janela onde o gráfico será exibido
-     */
-    public final void show(Stage janela) {
-        if (jaAbriuGrafico) {
-            return;
-        }
-        if (controle == null) {
-            this.start(janela);
-            return;
-        }
-        // plotando os gráficos
-        for (int i = 0; i < funcoes.size(); i++) {
-            controle.plotFuncao(funcoes.get(i), inicio.get(i), fim.get(i), tituloFuncoes.get(i), estiloFuncoes.get(i));
-        }
-        for (int i = 0; i < x.size(); i++) {
-            controle.plotPontos(x.get(i), y.get(i), tituloPontos.get(i), estiloPontos.get(i), linhasDeTendencia.get(i));
-        }
-        jaAbriuGrafico = true;
-    }
-
-    /**
-     * Exibir o gráfico em uma janela.<br>
-     * Mesmo que chamar o método <code>show(Stage janela)</code>
-     *
-     * @param janela janela onde o gráfico será exibido
-     */
-    @Override
-    public final void start(Stage janela) {
-        if (jaAbriuGrafico) {
-            return;
-        }
-        requireNonNull(janela, "A janela não pode ser nula.");
-
-        // carregando e adicionando a cena na janela
-        Scene scene = new Scene(carregarFXML());
-        janela.setTitle(tituloJanela);
-        janela.setScene(scene);
-
-        // adicionando o icone da janela
-        Image icone = new Image(findResource("gui/img/iconeJava.png").toString());
-        janela.getIcons().add(icone);
-
-        // configurando e exibindo a janela
-        janela.setOnCloseRequest(event -> System.exit(0));
-        janela.show();
-
-        // plotando os gráficos
-        this.show(janela);
-    }
-
-}
+package br.com.mauricioborges.graficos;
+
+import br.com.mauricioborges.graficos.gui.CenaGraficoController;
+import br.com.mauricioborges.graficos.math.Funcao;
+import br.com.mauricioborges.graficos.math.amostragem.CacheDeAmostras;
+import br.com.mauricioborges.graficos.math.amostragem.Decimacao;
+import static br.com.mauricioborges.graficos.utils.FXUtils.findResource;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import static java.util.Objects.requireNonNull;
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.layout.AnchorPane;
+import javafx.stage.Stage;
+
+/**
+ * Representa um gráfico. Exemplo de uso:
+ *
+ * <pre><code>
+ * Funcao f = x -> Math.sin(x);
+ * Grafico g = new Grafico();
+ * g.plotFuncao(f, 0, 2*Math.PI, "Seno");
+ * g.show(stage);
+ * </code></pre>
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+public final class Grafico extends Application {
+
+    private CenaGraficoController controle;
+    private String tituloJanela = "Gráficos JavaFX";
+    private String tituloGrafico = null;
+    private String tituloEixoX = null;
+    private String tituloEixoY = null;
+    private boolean jaAbriuGrafico = false;
+    private boolean avaliacaoParalela = false;
+    private double[] intervaloEixoX = null;
+    private Renderizacao renderizacao = Renderizacao.NOS;
+    private Decimacao.Modo decimacao = Decimacao.Modo.M4;
+    private boolean piramideMinMax = false;
+    private Path diretorioDePiramides = null;
+    private Path dadosDasPiramides = null;
+    private double orcamentoPorQuadro = 8;
+    private Executor executor = null;
+    private boolean copiarPontos = false;
+    // Funcoes
+    private final List<Funcao> funcoes = new ArrayList<>();
+    private final List<Double> inicio = new ArrayList<>();
+    private final List<Double> fim = new ArrayList<>();
+    private final List<String> tituloFuncoes = new ArrayList<>();
+    private final List<Estilo> estiloFuncoes = new ArrayList<>();
+    private final List<CompletableFuture<Void>> exibicaoFuncoes = new ArrayList<>();
+    // Pontos
+    private final List<double[]> x = new ArrayList<>();
+    private final List<double[]> y = new ArrayList<>();
+    private final List<String> tituloPontos = new ArrayList<>();
+    private final List<Estilo> estiloPontos = new ArrayList<>();
+    private final List<LinhaDeTendencia[]> linhasDeTendencia = new ArrayList<>();
+    private final List<CompletableFuture<Void>> exibicaoPontos = new ArrayList<>();
+    // blocos das funções amostradas, descartados junto com o gráfico
+    private final CacheDeAmostras cacheDeAmostras = new CacheDeAmostras();
+
+    /**
+     * Obter o cache das funções amostradas deste gráfico. Permite consultar os
+     * acertos e as falhas, definir o limite de memória e descartar os blocos
+     * de uma função.
+     *
+     * @return cache de amostras
+     */
+    public CacheDeAmostras getCacheDeAmostras() {
+        return cacheDeAmostras;
+    }
+
+    /**
+     * Definir o título da janela
+     *
+     * @param tituloJanela título da janela
+     */
+    public void setTituloJanela(String tituloJanela) {
+        this.tituloJanela = tituloJanela;
+    }
+
+    /**
+     * Definir o título do gráfico
+     *
+     * @param tituloGrafico título do gráfico
+     */
+    public void setTituloGrafico(String tituloGrafico) {
+        this.tituloGrafico = tituloGrafico;
+    }
+
+    /**
+     * Definir o título do eixo X
+     *
+     * @param tituloEixoX título do eixo X
+     */
+    public void setTituloEixoX(String tituloEixoX) {
+        this.tituloEixoX = tituloEixoX;
+    }
+
+    /**
+     * Definir o título do eixo Y
+     *
+     * @param tituloEixoY título do eixo Y
+     */
+    public void setTituloEixoY(String tituloEixoY) {
+        this.tituloEixoY = tituloEixoY;
+    }
+
+    /**
+     * Definir o intervalo exibido no eixo X (o padrão é ajustá-lo
+     * automaticamente aos dados).<br>
+     * As funções são reamostradas para o trecho visível, na resolução do
+     * gráfico, sempre que o intervalo muda. Depois que o gráfico é exibido,
+     * deve ser chamado na thread do JavaFX.
+     *
+     * @param inferior limite inferior
+     * @param superior limite superior
+     */
+    public void setIntervaloEixoX(double inferior, double superior) {
+        if (!(superior > inferior)) {
+            throw new IllegalArgumentException("O limite superior deve ser maior do que o inferior.");
+        }
+        this.intervaloEixoX = new double[]{inferior, superior};
+        if (controle != null) {
+            controle.setIntervaloEixoX(inferior, superior);
+        }
+    }
+
+    /**
+     * Voltar a ajustar o intervalo do eixo X automaticamente aos dados.<br>
+     * Depois que o gráfico é exibido, deve ser chamado na thread do JavaFX.
+     */
+    public void setIntervaloEixoXAutomatico() {
+        this.intervaloEixoX = null;
+        if (controle != null) {
+            controle.setIntervaloEixoXAutomatico();
+        }
+    }
+
+    /**
+     * Definir como as séries são desenhadas (padrão é Renderizacao.NOS).<br>
+     * Vale para as séries plotadas depois da chamada.
+     *
+     * @param renderizacao modo de renderização
+     */
+    public void setRenderizacao(Renderizacao renderizacao) {
+        this.renderizacao = requireNonNull(renderizacao, "O modo de renderização não pode ser nulo.");
+        if (controle != null) {
+            controle.setRenderizacao(renderizacao);
+        }
+    }
+
+    /**
+     * Definir como as linhas das séries grandes são reduzidas antes de serem
+     * desenhadas no modo Renderizacao.CANVAS (padrão é Decimacao.Modo.M4,
+     * cujo traçado é idêntico ao da série completa).<br>
+     * A redução é refeita sempre que o intervalo visível do eixo X muda.
+     *
+     * @param decimacao modo de decimação
+     */
+    public void setDecimacao(Decimacao.Modo decimacao) {
+        this.decimacao = requireNonNull(decimacao, "O modo de decimação não pode ser nulo.");
+        if (controle != null) {
+            controle.setDecimacao(decimacao);
+        }
+    }
+
+    /**
+     * Construir ou não uma pirâmide de mínimos e máximos para as séries de
+     * pontos grandes (a partir de 2<sup>20</sup> pontos ordenados por X)
+     * desenhadas no modo Renderizacao.CANVAS (padrão é false).<br>
+     * A pirâmide é construída uma vez, em paralelo, e a decimação M4 de
+     * qualquer nível de zoom passa a ler apenas O(pixels) entradas dela, em
+     * vez de todos os pontos visíveis. Vale para as séries plotadas depois da
+     * chamada.
+     *
+     * @param piramideMinMax true or false
+     */
+    public void setPiramideMinMax(boolean piramideMinMax) {
+        this.piramideMinMax = piramideMinMax;
+        if (controle != null) {
+            controle.setPiramideMinMax(piramideMinMax);
+        }
+    }
+
+    /**
+     * Definir o diretório onde as pirâmides de mínimos e máximos são gravadas
+     * (um arquivo por série, com o título e o número de pontos no nome),
+     * normalmente o diretório dos dados.<br>
+     * Ao plotar a mesma série de novo, a pirâmide é lida do arquivo em vez de
+     * ser reconstruída. Sem o arquivo dos dados, a correspondência com os
+     * pontos é conferida apenas pelo número de pontos e por uma amostra dos
+     * valores; prefira {@link #setDiretorioDePiramides(Path, Path)}.
+     *
+     * @param diretorioDePiramides diretório, ou null para não gravar (padrão)
+     */
+    public void setDiretorioDePiramides(Path diretorioDePiramides) {
+        setDiretorioDePiramides(diretorioDePiramides, null);
+    }
+
+    /**
+     * Definir o diretório onde as pirâmides de mínimos e máximos são gravadas
+     * e o arquivo de onde os pontos das séries foram lidos.<br>
+     * O tamanho e a data de modificação do arquivo dos dados são gravados com
+     * a pirâmide: se os dados mudarem, o arquivo da pirâmide é refeito. A
+     * conferência não percorre os pontos, e a leitura é muito mais rápida do
+     * que a reconstrução.
+     *
+     * @param diretorioDePiramides diretório, ou null para não gravar (padrão)
+     * @param dados arquivo dos dados, ou null
+     */
+    public void setDiretorioDePiramides(Path diretorioDePiramides, Path dados) {
+        this.diretorioDePiramides = diretorioDePiramides;
+        this.dadosDasPiramides = dados;
+        if (controle != null) {
+            controle.setDiretorioDePiramides(diretorioDePiramides, dados);
+        }
+    }
+
+    /**
+     * Definir o tempo máximo, em milissegundos, gasto em cada quadro da tela
+     * aplicando as alterações pendentes do gráfico (séries novas, estilos e
+     * textos das linhas de tendência), que são agrupadas e aplicadas no pulso
+     * do JavaFX (padrão é 8 ms). As alterações que não couberem ficam para o
+     * quadro seguinte.
+     *
+     * @param milissegundos orçamento por quadro
+     */
+    public void setOrcamentoPorQuadro(double milissegundos) {
+        if (!(milissegundos > 0)) {
+            throw new IllegalArgumentException("O orçamento por quadro deve ser positivo.");
+        }
+        this.orcamentoPorQuadro = milissegundos;
+        if (controle != null) {
+            controle.setOrcamentoPorQuadro(milissegundos);
+        }
+    }
+
+    /**
+     * Obter o número de alterações do gráfico aguardando um quadro da tela (0
+     * antes de o gráfico ser exibido)
+     *
+     * @return alterações pendentes
+     */
+    public int getAtualizacoesPendentes() {
+        return controle != null ? controle.getAtualizacoesPendentes() : 0;
+    }
+
+    /**
+     * Obter o tempo, em milissegundos, gasto aplicando as alterações do
+     * gráfico no último quadro da tela
+     *
+     * @return tempo do último quadro
+     */
+    public double getTempoDoUltimoQuadro() {
+        return controle != null ? controle.getTempoDoUltimoQuadro() : 0;
+    }
+
+    /**
+     * Obter o número de alterações do gráfico aplicadas no último quadro da
+     * tela (as demais ficaram para os quadros seguintes)
+     *
+     * @return alterações aplicadas
+     */
+    public int getAtualizacoesDoUltimoQuadro() {
+        return controle != null ? controle.getAtualizacoesDoUltimoQuadro() : 0;
+    }
+
+    /**
+     * Obter o maior tempo, em milissegundos, gasto aplicando as alterações do
+     * gráfico em um quadro da tela
+     *
+     * @return maior tempo de um quadro
+     */
+    public double getMaiorTempoDeQuadro() {
+        return controle != null ? controle.getMaiorTempoDeQuadro() : 0;
+    }
+
+    /**
+     * Definir o executor das plotagens: amostragem das funções, montagem das
+     * séries e cálculo das linhas de tendência (padrão é um conjunto de
+     * threads daemon, limitado ao número de processadores e compartilhado
+     * entre os gráficos). Vale para as plotagens iniciadas depois da chamada.
+     *
+     * @param executor executor, ou null para o padrão
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+        if (controle != null) {
+            controle.setExecutor(executor);
+        }
+    }
+
+    /**
+     * Cancelar as plotagens deste gráfico que ainda não terminaram, inclusive
+     * as que aguardam a exibição do gráfico; os seus CompletableFuture
+     * terminam cancelados e os resultados não chegam ao gráfico
+     */
+    public void cancelar() {
+        exibicaoFuncoes.forEach(exibicao -> exibicao.cancel(false));
+        exibicaoPontos.forEach(exibicao -> exibicao.cancel(false));
+        if (controle != null) {
+            controle.cancelar();
+        }
+    }
+
+    /**
+     * Copiar ou não os arrays de pontos recebidos por
+     * {@link #plotPontos(double[], double[], String)} e
+     * {@link #plotPontos(DoubleBuffer, DoubleBuffer, String)} (padrão é
+     * false).<br>
+     * Sem a cópia, o gráfico guarda os próprios arrays do usuário (ou do
+     * buffer), que não devem ser alterados enquanto o gráfico existir.
+     *
+     * @param copiarPontos true or false
+     */
+    public void setCopiarPontos(boolean copiarPontos) {
+        this.copiarPontos = copiarPontos;
+    }
+
+    /**
+     * Avaliar ou não as funções em paralelo (padrão é false).<br>
+     * Indicado para funções de alto custo (integrais numéricas, séries,
+     * simulações): os pontos são calculados por várias threads e o gráfico
+     * exibe os resultados parciais enquanto a função é calculada.
+     *
+     * @param avaliacaoParalela true or false
+     */
+    public void setAvaliacaoParalela(boolean avaliacaoParalela) {
+        this.avaliacaoParalela = avaliacaoParalela;
+        if (controle != null) {
+            controle.setAvaliacaoParalela(avaliacaoParalela);
+        }
+    }
+
+    /**
+     * Plotar função em determinado intervalo
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @return conclusão da plotagem, quando a função está na tela
+     */
+    public CompletableFuture<Void> plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo) {
+        this.funcoes.add(requireNonNull(funcao, "A função não pode ser nula."));
+        this.inicio.add(inicio);
+        this.fim.add(fim);
+        this.tituloFuncoes.add(requireNonNull(titulo, "O título da função não pode ser nulo."));
+        this.estiloFuncoes.add(requireNonNull(estilo, "O estilo da função não pode ser nulo."));
+        CompletableFuture<Void> exibicao = new CompletableFuture<>();
+        this.exibicaoFuncoes.add(exibicao);
+
+        if (controle != null) {
+            encadear(controle.plotFuncao(funcao, inicio, fim, titulo, estilo), exibicao);
+        }
+        return exibicao;
+    }
+
+    /**
+     * Plotar função em determinado intervalo com o estilo padrão
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda do gráfico
+     * @return conclusão da plotagem, quando a função está na tela
+     */
+    public CompletableFuture<Void> plotFuncao(Funcao funcao, double inicio, double fim, String titulo) {
+        return this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
+    }
+
+    /**
+     * Plotar um conjunto de pontos
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem, quando os pontos e as linhas de
+     * tendência estão na tela
+     */
+    public CompletableFuture<Void> plotPontos(Double[] x, Double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
+        if (x.length != y.length) {
+            throw new UnsupportedOperationException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        return adicionarPontos(valores(x), valores(y), titulo, estilo, linhasDeTendencia);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de arrays primitivos.<br>
+     * Os arrays não são copiados (a não ser com
+     * {@link #setCopiarPontos(boolean)}): o gráfico, as linhas de tendência e
+     * o traçado usam os próprios arrays, que não devem ser alterados depois.
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem, quando os pontos e as linhas de
+     * tendência estão na tela
+     */
+    public CompletableFuture<Void> plotPontos(double[] x, double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
+        if (x.length != y.length) {
+            throw new UnsupportedOperationException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        return adicionarPontos(copiarPontos ? x.clone() : x, copiarPontos ? y.clone() : y, titulo, estilo, linhasDeTendencia);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de buffers, com os valores entre
+     * a posição e o limite de cada buffer (as posições não são alteradas).<br>
+     * Um buffer que ocupa todo o seu array (como os de
+     * {@link DoubleBuffer#wrap(double[])}) não é copiado, a não ser com
+     * {@link #setCopiarPontos(boolean)}; os demais (diretos, somente leitura
+     * ou fatias) são copiados uma vez para um array primitivo.
+     *
+     * @param x buffer com os valores de X
+     * @param y buffer com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem, quando os pontos e as linhas de
+     * tendência estão na tela
+     */
+    public CompletableFuture<Void> plotPontos(DoubleBuffer x, DoubleBuffer y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
+        if (x.remaining() != y.remaining()) {
+            throw new UnsupportedOperationException("Os buffers de X e Y devem ter o mesmo tamanho.");
+        }
+        return adicionarPontos(valores(x, copiarPontos), valores(y, copiarPontos), titulo, estilo, linhasDeTendencia);
+    }
+
+    /**
+     * Guarda a série de pontos (já em arrays primitivos) e a plota, se o
+     * gráfico já estiver sendo exibido
+     */
+    private CompletableFuture<Void> adicionarPontos(double[] x, double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
+        this.x.add(x);
+        this.y.add(y);
+        this.tituloPontos.add(requireNonNull(titulo, "O título dos pontos não pode ser nulo."));
+        this.estiloPontos.add(requireNonNull(estilo, "O estilo dos pontos não pode ser nulo."));
+        this.linhasDeTendencia.add(linhasDeTendencia);
+        CompletableFuture<Void> exibicao = new CompletableFuture<>();
+        this.exibicaoPontos.add(exibicao);
+
+        if (controle != null) {
+            encadear(controle.plotPontos(x, y, titulo, estilo, linhasDeTendencia), exibicao);
+        }
+        return exibicao;
+    }
+
+    /**
+     * Valores de um array de Double em um array primitivo
+     */
+    private static double[] valores(Double[] array) {
+        double[] valores = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            valores[i] = array[i];
+        }
+        return valores;
+    }
+
+    /**
+     * Valores de um buffer em um array primitivo: o próprio array do buffer,
+     * se ele o ocupa por inteiro, ou uma cópia
+     */
+    private static double[] valores(DoubleBuffer buffer, boolean copiar) {
+        if (!copiar && buffer.hasArray() && buffer.arrayOffset() + buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        double[] valores = new double[buffer.remaining()];
+        buffer.duplicate().get(valores);
+        return valores;
+    }
+
+    /**
+     * Repassa a conclusão de uma plotagem do controller para o
+     * CompletableFuture devolvido ao usuário, e o cancelamento no sentido
+     * inverso
+     */
+    private static void encadear(CompletableFuture<Void> plotagem, CompletableFuture<Void> exibicao) {
+        if (exibicao.isCancelled()) {
+            plotagem.cancel(false);
+            return;
+        }
+        plotagem.whenComplete((r, e) -> {
+            if (e != null) {
+                exibicao.completeExceptionally(e);
+            } else {
+                exibicao.complete(null);
+            }
+        });
+        exibicao.whenComplete((r, e) -> {
+            if (exibicao.isCancelled()) {
+                plotagem.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Plotar um conjunto de pontos com o estilo padrão (com linha e marcador) e
+     * sem linha de tendência
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(Double[] x, Double[] y, String titulo) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR);
+    }
+
+    /**
+     * Plotar um conjunto de pontos sem linha de tendência
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(Double[] x, Double[] y, String titulo, Estilo estilo) {
+        return this.plotPontos(x, y, titulo, estilo, (LinhaDeTendencia) null);
+    }
+
+    /**
+     * Plotar um conjunto de pontos com o estilo padrão (com linha e marcador)
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(Double[] x, Double[] y, String titulo, LinhaDeTendencia... linhasDeTendencia) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR, linhasDeTendencia);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de arrays primitivos com o
+     * estilo padrão (com linha e marcador) e sem linha de tendência
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(double[] x, double[] y, String titulo) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de arrays primitivos sem linha de
+     * tendência
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(double[] x, double[] y, String titulo, Estilo estilo) {
+        return this.plotPontos(x, y, titulo, estilo, (LinhaDeTendencia) null);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de arrays primitivos com o
+     * estilo padrão (com linha e marcador)
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(double[] x, double[] y, String titulo, LinhaDeTendencia... linhasDeTendencia) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR, linhasDeTendencia);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de buffers com o estilo padrão
+     * (com linha e marcador) e sem linha de tendência
+     *
+     * @param x buffer com os valores de X
+     * @param y buffer com os valores de Y
+     * @param titulo legenda do gráfico
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(DoubleBuffer x, DoubleBuffer y, String titulo) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de buffers sem linha de
+     * tendência
+     *
+     * @param x buffer com os valores de X
+     * @param y buffer com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(DoubleBuffer x, DoubleBuffer y, String titulo, Estilo estilo) {
+        return this.plotPontos(x, y, titulo, estilo, (LinhaDeTendencia) null);
+    }
+
+    /**
+     * Plotar um conjunto de pontos a partir de buffers com o estilo padrão
+     * (com linha e marcador)
+     *
+     * @param x buffer com os valores de X
+     * @param y buffer com os valores de Y
+     * @param titulo legenda do gráfico
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem
+     */
+    public CompletableFuture<Void> plotPontos(DoubleBuffer x, DoubleBuffer y, String titulo, LinhaDeTendencia... linhasDeTendencia) {
+        return this.plotPontos(x, y, titulo, Estilo.LINHA_E_MARCADOR, linhasDeTendencia);
+    }
+
+    private Parent carregarFXML() {
+        FXMLLoader loader = new FXMLLoader();
+        loader.setLocation(findResource("gui/CenaGrafico.fxml"));
+        Parent root;
+        try {
+            root = loader.load();
+            controle = loader.getController();
+        } catch (IOException ex) {
+            throw new RuntimeException("Erro ao tentar carregar o FXML do gráfico.", ex);
+        }
+
+        // titulo do gráfico no controller
+        controle.setTituloGrafico(tituloGrafico);
+        // titulo dos eixos no controller
+        controle.setTituloEixos(tituloEixoX, tituloEixoY);
+        // avaliação das funções no controller
+        controle.setAvaliacaoParalela(avaliacaoParalela);
+        controle.setRenderizacao(renderizacao);
+        controle.setDecimacao(decimacao);
+        controle.setPiramideMinMax(piramideMinMax);
+        controle.setDiretorioDePiramides(diretorioDePiramides, dadosDasPiramides);
+        controle.setOrcamentoPorQuadro(orcamentoPorQuadro);
+        controle.setExecutor(executor);
+        controle.setCacheDeAmostras(cacheDeAmostras);
+        // intervalo do eixo X no controller
+        if (intervaloEixoX != null) {
+            controle.setIntervaloEixoX(intervaloEixoX[0], intervaloEixoX[1]);
+        }
+
+        return root;
+    }
+
+    /**
+     * Exibir o gráfico em um AnchorPane.
+     *
+     * @param painel painel onde o gráfico será exibido
+     */
+    public final void show(AnchorPane painel) {
+        if (jaAbriuGrafico) {
+            return;
+        }
+        requireNonNull(painel, "O painel não pode ser nulo.");
+
+        Parent p = carregarFXML();
+        painel.getChildren().clear();
+        painel.getChildren().add(p);
+
+        AnchorPane.setTopAnchor(p, 0d);
+        AnchorPane.setBottomAnchor(p, 0d);
+        AnchorPane.setLeftAnchor(p, 0d);
+        AnchorPane.setRightAnchor(p, 0d);
+        show((Stage) null);
+    }
+
+    /**
+     * Exibir o gráfico em uma janela.<br>
+     * Mesmo que chamar o método <code>start(Stage janela)</code>
+     *
+     * @param janela janela onde o gráfico será exibido
+     */
+    public final void show(Stage janela) {
+        if (jaAbriuGrafico) {
+            return;
+        }
+        if (controle == null) {
+            this.start(janela);
+            return;
+        }
+        // plotando os gráficos (exceto os cancelados antes da exibição)
+        for (int i = 0; i < funcoes.size(); i++) {
+            if (!exibicaoFuncoes.get(i).isCancelled()) {
+                encadear(controle.plotFuncao(funcoes.get(i), inicio.get(i), fim.get(i), tituloFuncoes.get(i), estiloFuncoes.get(i)),
+                        exibicaoFuncoes.get(i));
+            }
+        }
+        for (int i = 0; i < x.size(); i++) {
+            if (!exibicaoPontos.get(i).isCancelled()) {
+                encadear(controle.plotPontos(x.get(i), y.get(i), tituloPontos.get(i), estiloPontos.get(i), linhasDeTendencia.get(i)),
+                        exibicaoPontos.get(i));
+            }
+        }
+        jaAbriuGrafico = true;
+    }
+
+    /**
+     * Exibir o gráfico em uma janela.<br>
+     * Mesmo que chamar o método <code>show(Stage janela)</code>
+     *
+     * @param janela janela onde o gráfico será exibido
+     */
+    @Override
+    public final void start(Stage janela) {
+        if (jaAbriuGrafico) {
+            return;
+        }
+        requireNonNull(janela, "A janela não pode ser nula.");
+
+        // carregando e adicionando a cena na janela
+        Scene scene = new Scene(carregarFXML());
+        janela.setTitle(tituloJanela);
+        janela.setScene(scene);
+
+        // adicionando o icone da janela
+        Image icone = new Image(findResource("gui/img/iconeJava.png").toString());
+        janela.getIcons().add(icone);
+
+        // configurando e exibindo a janela
+        janela.setOnCloseRequest(event -> System.exit(0));
+        janela.show();
+
+        // plotando os gráficos
+        this.show(janela);
+    }
+
+    /**
+     * Modos de renderização das séries
+     */
+    public static enum Renderizacao {
+        /**
+         * Cada ponto é um XYChart.Data do LineChart, com o seu próprio nó
+         * (indicado para séries pequenas)
+         */
+        NOS,
+        /**
+         * Os pontos são mantidos em arrays primitivos e desenhados em um
+         * Canvas sobre o gráfico (indicado para séries com muitos pontos)
+         */
+        CANVAS
+    }
+}
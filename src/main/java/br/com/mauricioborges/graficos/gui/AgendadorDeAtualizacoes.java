@@ -0,0 +1,135 @@
+package br.com.mauricioborges.graficos.gui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Fila das alterações da interface do gráfico (séries adicionadas, estilos,
+ * textos), aplicadas uma vez por quadro pelo pulso do JavaFX.<br>
+ * As alterações podem ser agendadas de qualquer thread. Em cada quadro, o
+ * {@link AnimationTimer} aplica as alterações pendentes em ordem até esgotar o
+ * orçamento de tempo do quadro (pelo menos uma alteração por quadro); as
+ * restantes ficam para o quadro seguinte. O timer só fica ativo enquanto há
+ * alterações pendentes, e uma rajada de alterações custa um único
+ * Platform.runLater.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class AgendadorDeAtualizacoes {
+
+    /**
+     * Orçamento de tempo padrão por quadro, em milissegundos
+     */
+    static final double ORCAMENTO_PADRAO = 8;
+
+    private final Queue<Runnable> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final AtomicBoolean ativo = new AtomicBoolean(false);
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long agora) {
+            aplicar();
+        }
+    };
+    private volatile long orcamento = (long) (ORCAMENTO_PADRAO * 1e6);
+    private volatile long tempoDoUltimoQuadro = 0;
+    private volatile long maiorTempoDeQuadro = 0;
+    private volatile int aplicadasNoUltimoQuadro = 0;
+
+    /**
+     * Agenda uma alteração para o próximo quadro
+     *
+     * @param atualizacao alteração (executada na thread do JavaFX)
+     */
+    void agendar(Runnable atualizacao) {
+        fila.add(atualizacao);
+        pendentes.incrementAndGet();
+        if (ativo.compareAndSet(false, true)) {
+            Platform.runLater(timer::start);
+        }
+    }
+
+    private void aplicar() {
+        long inicio = System.nanoTime();
+        long limite = inicio + orcamento;
+        int aplicadas = 0;
+        Runnable atualizacao;
+        while ((aplicadas == 0 || System.nanoTime() < limite) && (atualizacao = fila.poll()) != null) {
+            pendentes.decrementAndGet();
+            aplicadas++;
+            try {
+                atualizacao.run();
+            } catch (RuntimeException e) {
+                Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+        }
+        long tempo = System.nanoTime() - inicio;
+        tempoDoUltimoQuadro = tempo;
+        maiorTempoDeQuadro = Math.max(maiorTempoDeQuadro, tempo);
+        aplicadasNoUltimoQuadro = aplicadas;
+        if (fila.isEmpty()) {
+            // para o timer; uma alteração agendada entre o teste e a parada o
+            // reativa
+            ativo.set(false);
+            if (fila.isEmpty() || !ativo.compareAndSet(false, true)) {
+                timer.stop();
+            }
+        }
+    }
+
+    /**
+     * Definir o orçamento de tempo por quadro
+     *
+     * @param milissegundos orçamento, em milissegundos
+     */
+    void setOrcamento(double milissegundos) {
+        if (!(milissegundos > 0)) {
+            throw new IllegalArgumentException("O orçamento por quadro deve ser positivo.");
+        }
+        this.orcamento = (long) (milissegundos * 1e6);
+    }
+
+    /**
+     * Obter o número de alterações aguardando um quadro
+     *
+     * @return profundidade da fila
+     */
+    int getPendentes() {
+        return pendentes.get();
+    }
+
+    /**
+     * Obter o tempo gasto aplicando as alterações no último quadro, em
+     * milissegundos
+     *
+     * @return tempo do último quadro
+     */
+    double getTempoDoUltimoQuadro() {
+        return tempoDoUltimoQuadro / 1e6;
+    }
+
+    /**
+     * Obter o maior tempo gasto aplicando as alterações em um quadro, em
+     * milissegundos
+     *
+     * @return maior tempo de um quadro
+     */
+    double getMaiorTempoDeQuadro() {
+        return maiorTempoDeQuadro / 1e6;
+    }
+
+    /**
+     * Obter o número de alterações aplicadas no último quadro
+     *
+     * @return alterações aplicadas
+     */
+    int getAplicadasNoUltimoQuadro() {
+        return aplicadasNoUltimoQuadro;
+    }
+}
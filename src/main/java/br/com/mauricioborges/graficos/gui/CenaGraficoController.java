@@ -1,456 +1,1101 @@
-package br.com.mauricioborges.graficos.gui;
-
-import br.com.mauricioborges.graficos.LinhaDeTendencia;
-import br.com.mauricioborges.graficos.Estilo;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.EXPONENCIAL;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.LOGARITMICA;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.MEDIA_MOVEL;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POLINOMIAL;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POTENCIA;
-import br.com.mauricioborges.graficos.math.Funcao;
-import br.com.mauricioborges.graficos.math.metodosnumericos.RegressaoLinearMultipla;
-import br.com.mauricioborges.graficos.utils.ChartUtils;
-import br.com.mauricioborges.graficos.utils.FileUtils;
-import br.com.mauricioborges.graficos.utils.FileUtils.Tipo;
-import static br.com.mauricioborges.graficos.utils.TextUtils.sup;
-import java.io.File;
-import java.io.IOException;
-import static java.lang.Double.MAX_VALUE;
-import static java.lang.Math.exp;
-import static java.lang.Math.log;
-import static java.lang.Math.pow;
-import java.net.URL;
-import java.text.DecimalFormat;
-import java.text.ParseException;
-import static java.util.Arrays.copyOfRange;
-import java.util.ResourceBundle;
-import javafx.application.Platform;
-import static javafx.embed.swing.SwingFXUtils.fromFXImage;
-import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
-import javafx.geometry.Insets;
-import javafx.scene.Cursor;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
-import javafx.scene.control.ContextMenu;
-import javafx.scene.control.Label;
-import javafx.scene.control.MenuItem;
-import javafx.scene.layout.StackPane;
-import javafx.util.StringConverter;
-import javax.imageio.ImageIO;
-
-/**
- * Controlador do FXML.
- *
- * @author Mauricio Borges
- * @since 2018
- */
-public class CenaGraficoController implements Initializable {
-
-    @FXML
-    private NumberAxis eixoX;
-    @FXML
-    private NumberAxis eixoY;
-    @FXML
-    private LineChart<Number, Number> graficoLinhas;
-    @FXML
-    private StackPane stackPane;
-
-    /**
-     * Definir o título do gráfico
-     *
-     * @param tituloGrafico título do gráfico
-     */
-    public void setTituloGrafico(String tituloGrafico) {
-        this.graficoLinhas.setTitle(tituloGrafico);
-    }
-
-    /**
-     * Definir o título dos eixos X e Y
-     *
-     * @param tituloEixoX título do eixo X
-     * @param tituloEixoY título do eixo Y
-     */
-    public void setTituloEixos(String tituloEixoX, String tituloEixoY) {
-        eixoX.setLabel(tituloEixoX);
-        eixoY.setLabel(tituloEixoY);
-    }
-
-    /**
-     * Salvar uma imagem do gráfico
-     *
-     * @param destino local onde a imagem deve ser salva
-     */
-    private void saveSnapshot(File destino) {
-        try {
-            ImageIO.write(fromFXImage(this.stackPane.snapshot(null, null), null), "png", destino);
-        } catch (IOException ex) {
-            throw new RuntimeException("Erro ao gerar a imagem do gráfico.", ex);
-        }
-    }
-
-    /**
-     * Plotar função em determinado intervalo
-     *
-     * @param funcao função
-     * @param inicio início do intervalo
-     * @param fim fim do intervalo
-     * @param titulo legenda do gráfico
-     * @param estilo opções de estilo
-     */
-    public void plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo) {
-        new Thread(() -> {
-            XYChart.Series<Number, Number> dados = new XYChart.Series<>();
-            dados.setName(titulo);
-            double dx = (fim - inicio) / 1400; // número de pontos a ser calculados e adicionados
-            double fxAnt = funcao.apply(inicio - dx);
-            boolean erro;
-            for (double i = inicio; i <= fim; i += dx) {
-                erro = false;
-                double fx;
-                try {
-                    fx = funcao.apply(i);
-                    if (Double.isInfinite(fx) || Double.isNaN(fx) || Math.abs(fx - fxAnt) > .1) {
-                        // assíntota vertical na função
-                        erro = true;
-                    }
-                    fxAnt = fx;
-                } catch (Exception e) {
-                    continue;
-                }
-                if (!erro) {
-                    dados.getData().add(new XYChart.Data<>(i, fx));
-                }
-            }
-
-            Platform.runLater(() -> {
-                // adicionando a função no gráfico
-                this.graficoLinhas.getData().add(dados);
-                // diminui o tamanho das bolinhas do gráfico
-                ChartUtils.setTamanhoMarcador(dados, 1.2);
-                // tira a linha que liga as bolinhas
-                ChartUtils.setLarguraLinha(dados, 0);
-                // configurações de cor
-                if (estilo == null) {
-                    return;
-                }
-                if (estilo.getCor() != null) {
-                    // muda a cor do gráfico
-                    ChartUtils.setCor(dados, estilo.getCor());
-                }
-                // define o estilo da linha
-                ChartUtils.setEstiloLinha(dados, estilo.getEstiloLinha());
-            });
-        }).start();
-    }
-
-    /**
-     * Plotar um conjunto de pontos
-     *
-     * @param x array com os valores de X
-     * @param y array com os valores de Y
-     * @param titulo legenda do gráfico
-     * @param estilo opções de estilo
-     * @param linhasDeTendencia linhas de tendência
-     */
-    public void plotPontos(Double[] x, Double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
-        new Thread(() -> {
-            // adicionando os pontos no gráfico
-            XYChart.Series<Number, Number> dados = new XYChart.Series<>();
-            dados.setName(titulo);
-            for (int i = 0; i < x.length; i++) {
-                dados.getData().add(new XYChart.Data<>(x[i], y[i]));
-            }
-
-            Platform.runLater(() -> {
-                // adicionando os pontos no gráfico
-                this.graficoLinhas.getData().add(dados);
-                // estilo do gráfico
-                if (estilo == null) {
-                    return;
-                }
-                if (!estilo.exibirMarcador()) {
-                    // tira as bolinhas do gráfico
-                    ChartUtils.setTamanhoMarcador(dados, 0);
-                }
-                if (!estilo.exibirLinha()) {
-                    // tira a linha que liga as bolinhas                  
-                    ChartUtils.setLarguraLinha(dados, 0);
-                }
-                if (estilo.getCor() != null) {
-                    // muda a cor do gráfico
-                    ChartUtils.setCor(dados, estilo.getCor());
-                }
-                // define o estilo da linha
-                ChartUtils.setEstiloLinha(dados, estilo.getEstiloLinha());
-            });
-
-            // gerando as linhas de tendência
-            if (linhasDeTendencia != null) {
-                for (LinhaDeTendencia linhaDeTendencia : linhasDeTendencia) {
-                    if (linhaDeTendencia == null) {
-                        continue;
-                    }
-                    if ((linhaDeTendencia.getTipo() == MEDIA_MOVEL && y.length < 3)
-                            || (linhaDeTendencia.getTipo() == MEDIA_MOVEL && linhaDeTendencia.getNumeroDePontos() > y.length - 1)) {
-                        // não é possível gerar a linha de tendência
-                        continue;
-                    }
-                    Funcao f = linhaDeTendencia.getTipo() != MEDIA_MOVEL
-                            ? gerarLinhaDeTendencia(x, y, linhaDeTendencia) : null;
-                    // gerando o título com base no tipo da linha de tendência
-                    StringBuilder tituloLinha = new StringBuilder();
-                    if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo() == POLINOMIAL) {
-                        switch (linhaDeTendencia.getGrau()) {
-                            case 1 ->
-                                tituloLinha.append("Linear");
-                            case 2 ->
-                                tituloLinha.append("Quadrática");
-                            case 3 ->
-                                tituloLinha.append("Cúbica");
-                            default ->
-                                tituloLinha.append(linhaDeTendencia.getTipo().toString())
-                                        .append(" grau ").append(linhaDeTendencia.getGrau());
-                        }
-                        tituloLinha.append(" (").append(titulo).append(")");
-                    } else if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
-                        tituloLinha.append(linhaDeTendencia.getTipo().toString()).append(" de ")
-                                .append(linhaDeTendencia.getNumeroDePontos()).append(" pontos (")
-                                .append(titulo).append(")");
-                    } else if (linhaDeTendencia.getTitulo() == null) {
-                        tituloLinha.append(linhaDeTendencia.getTipo().toString()).append(" (").append(titulo).append(")");
-                    } else {
-                        tituloLinha.append(linhaDeTendencia.getTitulo());
-                    }
-                    // definindo o início e o fim do intervalo
-                    double inicio = (linhaDeTendencia.getInicio() != MAX_VALUE
-                            && linhaDeTendencia.getInicio() < x[0]) ? linhaDeTendencia.getInicio() : x[0];
-                    double fim = (linhaDeTendencia.getFim() != MAX_VALUE
-                            && linhaDeTendencia.getFim() > x[x.length - 1]) ? linhaDeTendencia.getFim() : x[x.length - 1];
-                    // plotando a linha de tendência
-                    if ((linhaDeTendencia.getTipo() == POLINOMIAL && linhaDeTendencia.getGrau() <= 1)
-                            || linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
-                        Double[] xn;
-                        Double[] yn;
-                        if (linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
-                            int nPontos = linhaDeTendencia.getNumeroDePontos();
-                            xn = copyOfRange(x, nPontos - 1, x.length);
-                            yn = new Double[y.length + 1 - nPontos];
-                            for (int i = 0; i < yn.length; i++) {
-                                yn[i] = 0.0;
-                                for (int n = 0; n < nPontos; n++) {
-                                    yn[i] += y[n + i];
-                                }
-                                yn[i] /= nPontos;
-                            }
-                        } else {
-                            xn = new Double[]{inicio, fim};
-                            yn = new Double[]{f.apply(inicio), f.apply(fim)};
-                        }
-                        Estilo estiloLinhaDeTendencia = new Estilo.Builder()
-                                .setExibirLinha(true)
-                                .setExibirMarcador(false)
-                                .setCor(linhaDeTendencia.getEstilo().getCor())
-                                .setEstiloLinha(linhaDeTendencia.getEstilo().getEstiloLinha())
-                                .build();
-                        plotPontos(xn, yn, tituloLinha.toString(), estiloLinhaDeTendencia);
-                    } else {
-                        plotFuncao(f, inicio, fim, tituloLinha.toString(), linhaDeTendencia.getEstilo());
-                    }
-                }
-                System.gc();
-            }
-        }).start();
-    }
-
-    /**
-     * Gerar a linha de tendência associada ao gráfico de pontos
-     *
-     * @param x array com os valores de X do gráfico de pontos de origem
-     * @param y array com os valores de Y do gráfico de pontos de origem
-     * @param linhaDeTendencia linha de tendência
-     * @return linha de tendência
-     */
-    private Funcao gerarLinhaDeTendencia(Double[] x, Double[] y, LinhaDeTendencia linhaDeTendencia) {
-        // criando novos arrays de X e Y, pois o algoritmo da
-        // Regressão Linear Múltipla requer que os índices comecem em 1
-        Double[][] xn = new Double[x.length + 1][linhaDeTendencia.getGrau() + 3];
-        Double[] yn = new Double[y.length + 1];
-        for (int i = 0; i < x.length; i++) {
-            if (linhaDeTendencia.getTipo() == LOGARITMICA || linhaDeTendencia.getTipo() == POTENCIA) {
-                xn[i + 1][1] = log(x[i]);
-            } else {
-                xn[i + 1][1] = x[i];
-            }
-            if (linhaDeTendencia.getTipo() == EXPONENCIAL || linhaDeTendencia.getTipo() == POTENCIA) {
-                yn[i + 1] = log(y[i]);
-            } else {
-                yn[i + 1] = y[i];
-            }
-        }
-
-        // método da Regressão Linear Múltipla retorna um array com os
-        // parâmetros da equação de linha de tendência
-        RegressaoLinearMultipla rlm;
-        Double[] b;
-        try {
-            rlm = new RegressaoLinearMultipla(x.length, 1, linhaDeTendencia.getGrau() + 1, xn, yn, linhaDeTendencia.getB0());
-            b = rlm.solve();
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao gerar a linha de tendência.", e);
-        }
-
-        // exibindo as informações
-        boolean exibirEquacao = linhaDeTendencia.exibirEquacao();
-        boolean exibirR2 = linhaDeTendencia.exibirR2();
-        boolean exibirSigma2 = linhaDeTendencia.exibirSigma2();
-        if (exibirEquacao || exibirR2 || exibirSigma2) {
-            StringBuilder info = new StringBuilder();
-            Label l = new Label();
-            l.setStyle(l.getStyle() + "-fx-font-size:14px;");
-            l.setCursor(Cursor.MOVE);
-            Platform.runLater(() -> {
-                // posição inicial da label na tela
-                // é necessário uma implementação melhor desta parte!
-                this.stackPane.getChildren().add(l);
-                double h = this.stackPane.getHeight();
-                double w = this.stackPane.getWidth();
-                StackPane.setMargin(l, new Insets(h * 0.12 * stackPane.getChildren().size() - 1, 0, 0, w * 0.4));
-            });
-            l.setOnMouseDragged(event -> Platform.runLater(() -> StackPane.setMargin(l, new Insets(event.getSceneY(), 0, 0, event.getSceneX()))));
-            DecimalFormat df = new DecimalFormat("#.####");
-            if (exibirEquacao) {
-                StringBuilder sb = new StringBuilder("y = ");
-                switch (linhaDeTendencia.getTipo()) {
-                    case EXPONENCIAL -> {
-                        String a1 = df.format(exp(b[1]));
-                        String a2 = df.format(b[2]);
-                        sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
-                        if (!a2.equals("0")) {
-                            sb.append("e").append(a2.equals("1") ? "" : sup(a2)).append(sup("x"));
-                        }
-                    }
-                    case LOGARITMICA -> {
-                        String a1 = df.format(b[2]);
-                        if (!a1.equals("0")) {
-                            sb.append(a1.equals("1") ? "" : a1).append("ln(x)");
-                        }
-                        if (a1.equals("0")) {
-                            sb.append(df.format(b[1]));
-                        } else {
-                            if (b[1] > 0) {
-                                sb.append(" + ").append(df.format(b[1]));
-                            } else if (b[1] < 0) {
-                                sb.append(" - ").append(df.format(Math.abs(b[1])));
-                            }
-                        }
-                    }
-                    case POTENCIA -> {
-                        String a1 = df.format(exp(b[1]));
-                        String a2 = df.format(b[2]);
-                        sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
-                        if (!a2.equals("0")) {
-                            sb.append("x").append(a2.equals("1") ? "" : sup(a2));
-                        }
-                    }
-                    default -> {
-                        for (int i = b.length - 1; i >= 1; i--) {
-                            if (i != b.length - 1 && b[i] > 0) {
-                                sb.append(" + ");
-                            } else if (i != b.length - 1 && b[i] < 0) {
-                                sb.append(" - ");
-                            } else if (b[i] == 0) {
-                                continue;
-                            }
-                            if (!df.format(b[i]).equals("1") || i == 1) {
-                                sb.append(df.format(i != b.length - 1 ? Math.abs(b[i]) : b[i]));
-                            }
-                            sb.append(i - 1 > 0 ? "x" : "");
-                            sb.append(i - 1 >= 2 ? sup(i - 1) : "");
-                        }
-                    }
-                }
-                info.append(info.isEmpty() ? "" : "\n").append(sb.toString());
-            }
-            if (exibirR2) {
-                info.append(info.isEmpty() ? "" : "\n").append("r² = ").append(df.format(rlm.getR2()));
-            }
-            if (exibirSigma2) {
-                info.append(info.isEmpty() ? "" : "\n").append("σ² = ").append(df.format(rlm.getSigma2()));
-            }
-            Platform.runLater(() -> l.setText(info.toString()));
-        }
-
-        // gerando a função da linha de tendência
-        Funcao f = xf -> {
-            double resultado = 0;
-            switch (linhaDeTendencia.getTipo()) {
-                case EXPONENCIAL ->
-                    resultado += exp(b[1]) * exp(xf * b[2]);
-                case LOGARITMICA ->
-                    resultado += b[2] * log(xf) + b[1];
-                case POTENCIA ->
-                    resultado += exp(b[1]) * pow(xf, b[2]);
-                default -> {
-                    for (int i = 1; i < b.length; i++) {
-                        resultado += pow(xf, i - 1) * b[i];
-                    }
-                }
-            }
-            return resultado;
-        };
-        return f;
-    }
-
-    /**
-     * Inicializador do controller
-     *
-     * @param url url
-     * @param rb rb
-     */
-    @Override
-    public void initialize(URL url, ResourceBundle rb) {
-        this.graficoLinhas.setCreateSymbols(true);
-
-        // adicionando o menu de contexto ao gráfico
-        ContextMenu cm = new ContextMenu();
-        MenuItem mi = new MenuItem("Salvar imagem");
-        mi.setOnAction(event -> {
-            File destino = FileUtils.escolherArquivoNoArmazenamento(FileUtils.getDiretorioAtual(), Tipo.SAVE);
-            if (destino != null) {
-                saveSnapshot(destino);
-            }
-        });
-        cm.getItems().add(mi);
-        this.graficoLinhas.setOnContextMenuRequested(event -> cm.show(graficoLinhas, event.getScreenX(), event.getScreenY()));
-
-        // exibir valores nos eixos do gráfico em notação científica
-        StringConverter<Number> sf = new StringConverter<Number>() {
-            private DecimalFormat format;
-
-            @Override
-            public String toString(Number number) {
-                if (Math.abs(number.doubleValue()) > 1e3) {
-                    format = new DecimalFormat("0.##E0");
-                } else {
-                    format = new DecimalFormat("0.##");
-                }
-                return format.format(number.doubleValue()).replaceAll("E0", "");
-            }
-
-            @Override
-            public Number fromString(String string) {
-                try {
-                    return format.parse(string);
-                } catch (ParseException e) {
-                    return 0;
-                }
-            }
-
-        };
-        this.eixoX.setTickLabelFormatter(sf);
-        this.eixoY.setTickLabelFormatter(sf);
-    }
-
-}
+package br.com.mauricioborges.graficos.gui;
+
+import br.com.mauricioborges.graficos.LinhaDeTendencia;
+import br.com.mauricioborges.graficos.LinhaDeTendencia.Metodo;
+import br.com.mauricioborges.graficos.Estilo;
+import br.com.mauricioborges.graficos.Grafico.Renderizacao;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.EXPONENCIAL;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.LOGARITMICA;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POLINOMIAL;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POTENCIA;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.QUANTIL_MOVEL;
+import br.com.mauricioborges.graficos.math.Funcao;
+import br.com.mauricioborges.graficos.math.FuncaoExponencial;
+import br.com.mauricioborges.graficos.math.FuncaoLogaritmica;
+import br.com.mauricioborges.graficos.math.FuncaoPolinomial;
+import br.com.mauricioborges.graficos.math.FuncaoPotencia;
+import br.com.mauricioborges.graficos.math.amostragem.AmostragemAdaptativa;
+import br.com.mauricioborges.graficos.math.amostragem.CacheDeAmostras;
+import br.com.mauricioborges.graficos.math.amostragem.Decimacao;
+import br.com.mauricioborges.graficos.math.amostragem.PiramideMinMax;
+import br.com.mauricioborges.graficos.math.amostragem.Polilinha;
+import br.com.mauricioborges.graficos.math.metodosnumericos.Ajuste;
+import br.com.mauricioborges.graficos.math.metodosnumericos.Householder;
+import br.com.mauricioborges.graficos.math.metodosnumericos.MediaMovel;
+import br.com.mauricioborges.graficos.math.metodosnumericos.MomentosPolinomiais;
+import br.com.mauricioborges.graficos.math.metodosnumericos.QuantilMovel;
+import br.com.mauricioborges.graficos.utils.ChartUtils;
+import br.com.mauricioborges.graficos.utils.FileUtils;
+import br.com.mauricioborges.graficos.utils.FileUtils.Tipo;
+import static br.com.mauricioborges.graficos.utils.TextUtils.sup;
+import java.io.File;
+import java.io.IOException;
+import static java.lang.Double.MAX_VALUE;
+import static java.lang.Math.exp;
+import static java.lang.Math.log;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static java.util.Arrays.copyOfRange;
+import java.util.ResourceBundle;
+import javafx.animation.PauseTransition;
+import javafx.beans.InvalidationListener;
+import javafx.collections.FXCollections;
+import static javafx.embed.swing.SwingFXUtils.fromFXImage;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.geometry.Insets;
+import javafx.scene.Cursor;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+import javax.imageio.ImageIO;
+
+/**
+ * Controlador do FXML.
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+public class CenaGraficoController implements Initializable {
+
+    // resolução usada na amostragem de funções antes do primeiro layout
+    private static final double LARGURA_PADRAO = 1400;
+    private static final double ALTURA_PADRAO = 800;
+    // raio dos marcadores das séries desenhadas no Canvas
+    private static final double TAMANHO_MARCADOR = 4;
+    // número de pontos a partir do qual as séries recebem a pirâmide de mínimos e máximos
+    private static final int TAMANHO_MINIMO_PIRAMIDE = 1 << 20;
+    private static final System.Logger LOGGER = System.getLogger(CenaGraficoController.class.getName());
+    // executor padrão das plotagens, compartilhado entre os gráficos
+    private static final ExecutorService EXECUTOR_PADRAO = criarExecutorPadrao();
+
+    @FXML
+    private NumberAxis eixoX;
+    @FXML
+    private NumberAxis eixoY;
+    @FXML
+    private GraficoDeLinhas graficoLinhas;
+    @FXML
+    private StackPane stackPane;
+    private boolean avaliacaoParalela = false;
+    private Renderizacao renderizacao = Renderizacao.NOS;
+    private boolean piramideMinMax = false;
+    private Path diretorioDePiramides = null;
+    private Path dadosDasPiramides = null;
+    // funções plotadas, reamostradas quando o eixo X muda
+    private final List<FuncaoPlotada> funcoes = new CopyOnWriteArrayList<>();
+    private final PauseTransition reamostragem = new PauseTransition(Duration.millis(150));
+    // alterações da interface, aplicadas uma vez por quadro
+    private final AgendadorDeAtualizacoes atualizacoes = new AgendadorDeAtualizacoes();
+    // plotagens em andamento, canceladas por cancelar()
+    private final Set<CompletableFuture<Void>> emAndamento = ConcurrentHashMap.newKeySet();
+    private Executor executor = EXECUTOR_PADRAO;
+    // blocos das funções do gráfico já amostrados
+    private CacheDeAmostras cacheDeAmostras = new CacheDeAmostras();
+
+    /**
+     * Definir como as próximas séries serão desenhadas
+     *
+     * @param renderizacao modo de renderização
+     */
+    public void setRenderizacao(Renderizacao renderizacao) {
+        this.renderizacao = renderizacao;
+    }
+
+    /**
+     * Executor padrão: um número fixo de threads daemon (o número de
+     * processadores, pelo menos 2), encerradas quando ficam ociosas
+     */
+    private static ExecutorService criarExecutorPadrao() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), tarefa -> {
+                    Thread t = new Thread(tarefa, "graficos-plotagem-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Definir o executor das próximas plotagens (amostragem das funções,
+     * montagem das séries e linhas de tendência)
+     *
+     * @param executor executor, ou null para o executor padrão
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor != null ? executor : EXECUTOR_PADRAO;
+    }
+
+    /**
+     * Cancela as plotagens em andamento; os seus CompletableFuture terminam
+     * cancelados e os resultados não chegam ao gráfico
+     */
+    public void cancelar() {
+        for (CompletableFuture<Void> plotagem : emAndamento) {
+            plotagem.cancel(false);
+        }
+    }
+
+    /**
+     * Executa uma etapa de uma plotagem no executor, registrando a plotagem
+     * para o cancelamento; exceções e erros da etapa terminam a plotagem
+     *
+     * @param plotagem conclusão da plotagem
+     * @param etapa trabalho
+     * @return a própria plotagem
+     */
+    private CompletableFuture<Void> executar(CompletableFuture<Void> plotagem, Runnable etapa) {
+        if (!plotagem.isDone() && emAndamento.add(plotagem)) {
+            plotagem.whenComplete((r, e) -> emAndamento.remove(plotagem));
+        }
+        try {
+            executor.execute(() -> {
+                if (plotagem.isCancelled()) {
+                    // cancelada antes de começar
+                    return;
+                }
+                try {
+                    etapa.run();
+                } catch (Throwable e) {
+                    falhar(plotagem, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            falhar(plotagem, e);
+        }
+        return plotagem;
+    }
+
+    /**
+     * Termina a plotagem com a falha; se ela já terminou (uma reamostragem de
+     * uma função já exibida), a falha vai para o tratador da thread
+     */
+    private static void falhar(CompletableFuture<Void> plotagem, Throwable e) {
+        if (!plotagem.completeExceptionally(e)) {
+            Thread t = Thread.currentThread();
+            t.getUncaughtExceptionHandler().uncaughtException(t, e);
+        }
+    }
+
+    /**
+     * Definir o tempo máximo gasto por quadro aplicando as alterações
+     * pendentes da interface
+     *
+     * @param milissegundos orçamento, em milissegundos
+     */
+    public void setOrcamentoPorQuadro(double milissegundos) {
+        atualizacoes.setOrcamento(milissegundos);
+    }
+
+    /**
+     * Obter o número de alterações da interface aguardando um quadro
+     *
+     * @return alterações pendentes
+     */
+    public int getAtualizacoesPendentes() {
+        return atualizacoes.getPendentes();
+    }
+
+    /**
+     * Obter o tempo gasto aplicando as alterações da interface no último
+     * quadro, em milissegundos
+     *
+     * @return tempo do último quadro
+     */
+    public double getTempoDoUltimoQuadro() {
+        return atualizacoes.getTempoDoUltimoQuadro();
+    }
+
+    /**
+     * Obter o número de alterações da interface aplicadas no último quadro
+     *
+     * @return alterações aplicadas
+     */
+    public int getAtualizacoesDoUltimoQuadro() {
+        return atualizacoes.getAplicadasNoUltimoQuadro();
+    }
+
+    /**
+     * Obter o maior tempo gasto aplicando as alterações da interface em um
+     * quadro, em milissegundos
+     *
+     * @return maior tempo de um quadro
+     */
+    public double getMaiorTempoDeQuadro() {
+        return atualizacoes.getMaiorTempoDeQuadro();
+    }
+
+    /**
+     * Construir ou não a pirâmide de mínimos e máximos das próximas séries
+     * grandes desenhadas no Canvas
+     *
+     * @param piramideMinMax true or false
+     */
+    public void setPiramideMinMax(boolean piramideMinMax) {
+        this.piramideMinMax = piramideMinMax;
+    }
+
+    /**
+     * Definir o diretório onde as pirâmides das séries são gravadas e lidas,
+     * e o arquivo de onde os pontos foram lidos
+     *
+     * @param diretorioDePiramides diretório, ou null para não gravar
+     * @param dados arquivo dos dados, cujo tamanho e data de modificação
+     * identificam os pontos, ou null
+     */
+    public void setDiretorioDePiramides(Path diretorioDePiramides, Path dados) {
+        this.diretorioDePiramides = diretorioDePiramides;
+        this.dadosDasPiramides = dados;
+    }
+
+    /**
+     * Definir como as linhas das séries desenhadas no Canvas são reduzidas
+     *
+     * @param decimacao modo de decimação
+     */
+    public void setDecimacao(Decimacao.Modo decimacao) {
+        graficoLinhas.setDecimacao(decimacao);
+    }
+
+    /**
+     * Avaliar ou não as funções em paralelo, exibindo os resultados parciais
+     *
+     * @param avaliacaoParalela true or false
+     */
+    public void setAvaliacaoParalela(boolean avaliacaoParalela) {
+        this.avaliacaoParalela = avaliacaoParalela;
+    }
+
+    /**
+     * Definir o cache de blocos das funções amostradas deste gráfico
+     *
+     * @param cacheDeAmostras cache de amostras
+     */
+    public void setCacheDeAmostras(CacheDeAmostras cacheDeAmostras) {
+        this.cacheDeAmostras = cacheDeAmostras;
+    }
+
+    /**
+     * Definir o título do gráfico
+     *
+     * @param tituloGrafico título do gráfico
+     */
+    public void setTituloGrafico(String tituloGrafico) {
+        this.graficoLinhas.setTitle(tituloGrafico);
+    }
+
+    /**
+     * Definir o título dos eixos X e Y
+     *
+     * @param tituloEixoX título do eixo X
+     * @param tituloEixoY título do eixo Y
+     */
+    public void setTituloEixos(String tituloEixoX, String tituloEixoY) {
+        eixoX.setLabel(tituloEixoX);
+        eixoY.setLabel(tituloEixoY);
+    }
+
+    /**
+     * Definir o intervalo exibido no eixo X; as funções são reamostradas para o
+     * novo intervalo
+     *
+     * @param inferior limite inferior
+     * @param superior limite superior
+     */
+    public void setIntervaloEixoX(double inferior, double superior) {
+        eixoX.setAutoRanging(false);
+        eixoX.setLowerBound(inferior);
+        eixoX.setUpperBound(superior);
+        eixoX.setTickUnit((superior - inferior) / 10);
+    }
+
+    /**
+     * Voltar a ajustar o intervalo do eixo X automaticamente aos dados
+     */
+    public void setIntervaloEixoXAutomatico() {
+        eixoX.setAutoRanging(true);
+    }
+
+    /**
+     * Salvar uma imagem do gráfico
+     *
+     * @param destino local onde a imagem deve ser salva
+     */
+    private void saveSnapshot(File destino) {
+        try {
+            ImageIO.write(fromFXImage(this.stackPane.snapshot(null, null), null), "png", destino);
+        } catch (IOException ex) {
+            throw new RuntimeException("Erro ao gerar a imagem do gráfico.", ex);
+        }
+    }
+
+    /**
+     * Plotar função em determinado intervalo
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @return conclusão da plotagem, quando a função é exibida pela primeira
+     * vez (as reamostragens seguintes não a alteram)
+     */
+    public CompletableFuture<Void> plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo) {
+        return plotFuncao(funcao, inicio, fim, titulo, estilo, true);
+    }
+
+    /**
+     * Plotar função em determinado intervalo
+     *
+     * @param armazenar guardar ou não os blocos amostrados no cache (as
+     * linhas de tendência, criadas a cada plotagem, não são guardadas)
+     */
+    private CompletableFuture<Void> plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo,
+            boolean armazenar) {
+        FuncaoPlotada plotada = new FuncaoPlotada(funcao, inicio, fim, titulo, estilo, renderizacao, armazenar);
+        // cancelada por cancelar() antes de ser exibida: a função deixa de
+        // ser amostrada
+        plotada.exibida.whenComplete((r, e) -> {
+            if (plotada.exibida.isCancelled()) {
+                this.funcoes.remove(plotada);
+                synchronized (plotada) {
+                    if (plotada.amostragem != null) {
+                        plotada.amostragem.cancelar();
+                    }
+                }
+            }
+        });
+        this.funcoes.add(plotada);
+        amostrarFuncao(plotada, true);
+        return plotada.exibida;
+    }
+
+    /**
+     * Amostra a função no trecho visível do seu intervalo, na resolução atual
+     * do eixo X, cancelando a amostragem anterior que ainda estiver em
+     * andamento (a conclusão da plotagem não é afetada)
+     *
+     * @param plotada função plotada
+     * @param forcar amostrar mesmo que o trecho e a resolução não tenham mudado
+     */
+    private void amostrarFuncao(FuncaoPlotada plotada, boolean forcar) {
+        // resolução da área de traçado (antes do primeiro layout, usa a padrão)
+        double largura = eixoX.getWidth() > 0 ? eixoX.getWidth() : LARGURA_PADRAO;
+        double altura = eixoY.getHeight() > 0 ? eixoY.getHeight() : ALTURA_PADRAO;
+        // trecho visível do intervalo da função
+        double inicio = plotada.inicio;
+        double fim = plotada.fim;
+        if (!eixoX.isAutoRanging()) {
+            double inferior = eixoX.getLowerBound();
+            double superior = eixoX.getUpperBound();
+            inicio = Math.max(inicio, inferior);
+            fim = Math.min(fim, superior);
+            if (!(fim > inicio)) {
+                // nada visível: a função é exibida quando o eixo mudar
+                plotada.exibida.complete(null);
+                return;
+            }
+            largura *= (fim - inicio) / (superior - inferior);
+        }
+
+        AmostragemAdaptativa amostragem = new AmostragemAdaptativa(Math.max(largura, 1), altura);
+        if (plotada.armazenar) {
+            amostragem.setCache(cacheDeAmostras);
+        }
+        long geracao;
+        synchronized (plotada) {
+            double pixel = (fim - inicio) / largura;
+            if (plotada.exibida.isCancelled() || (!forcar && Math.abs(inicio - plotada.inicioAmostrado) < pixel
+                    && Math.abs(fim - plotada.fimAmostrado) < pixel
+                    && Math.abs(largura - plotada.larguraAmostrada) < 1)) {
+                return;
+            }
+            if (plotada.amostragem != null) {
+                plotada.amostragem.cancelar();
+            }
+            plotada.amostragem = amostragem;
+            plotada.inicioAmostrado = inicio;
+            plotada.fimAmostrado = fim;
+            plotada.larguraAmostrada = largura;
+            geracao = ++plotada.geracao;
+        }
+
+        double a = inicio;
+        double b = fim;
+        boolean paralela = this.avaliacaoParalela;
+        executar(plotada.exibida, () -> {
+            // amostragem adaptativa da função, interrompida nas descontinuidades
+            if (paralela) {
+                // funções de alto custo: exibe os resultados parciais
+                amostragem.setParalela(true);
+                amostragem.setProgresso((parcial, fracao) -> publicarFuncao(plotada, parcial, geracao, false));
+            }
+            try {
+                publicarFuncao(plotada, amostragem.amostrar(plotada.funcao, a, b), geracao, true);
+            } catch (CancellationException e) {
+                // substituída por uma amostragem mais recente ou cancelada
+            }
+        });
+    }
+
+    /**
+     * Substitui os pontos da série de uma função pelos da polilinha,
+     * adicionando a série ao gráfico na primeira vez. Resultados de uma
+     * amostragem que já foi substituída, ou de uma plotagem cancelada, são
+     * descartados; o primeiro resultado final conclui a plotagem.
+     *
+     * @param plotada função plotada
+     * @param polilinha pontos amostrados
+     * @param geracao geração da amostragem que produziu os pontos
+     * @param concluida true para o resultado final, false para um parcial
+     */
+    private void publicarFuncao(FuncaoPlotada plotada, Polilinha polilinha, long geracao, boolean concluida) {
+        CompletableFuture<Void> exibida = plotada.exibida;
+        if (plotada.renderizacao == Renderizacao.CANVAS) {
+            GraficoDeLinhas.PolilinhaPreparada preparada = GraficoDeLinhas.preparar(polilinha, null);
+            atualizacoes.agendar(() -> {
+                if (geracao != plotada.geracao || exibida.isCancelled()) {
+                    return;
+                }
+                boolean nova = plotada.dados.getChart() == null;
+                this.graficoLinhas.setPolilinha(plotada.dados, preparada, 0);
+                if (nova) {
+                    estilizarFuncao(plotada);
+                }
+                if (concluida) {
+                    exibida.complete(null);
+                }
+            });
+            return;
+        }
+        List<XYChart.Data<Number, Number>> pontos = new ArrayList<>(polilinha.getTamanho());
+        for (int s = 0; s < polilinha.getNumeroDeSegmentos(); s++) {
+            for (int i = polilinha.getInicioSegmento(s); i < polilinha.getFimSegmento(s); i++) {
+                XYChart.Data<Number, Number> ponto = new XYChart.Data<>(polilinha.getX(i), polilinha.getY(i));
+                if (s > 0 && i == polilinha.getInicioSegmento(s)) {
+                    ponto.setExtraValue(GraficoDeLinhas.QUEBRA);
+                }
+                pontos.add(ponto);
+            }
+        }
+
+        atualizacoes.agendar(() -> {
+            if (geracao != plotada.geracao || exibida.isCancelled()) {
+                return;
+            }
+            XYChart.Series<Number, Number> dados = plotada.dados;
+            boolean nova = dados.getChart() == null;
+            dados.getData().setAll(pontos);
+            if (nova) {
+                // adicionando a função no gráfico
+                this.graficoLinhas.getData().add(dados);
+            }
+            // a função é traçada pela linha, sem as bolinhas
+            ChartUtils.setTamanhoMarcador(dados, 0);
+            if (nova) {
+                estilizarFuncao(plotada);
+            }
+            if (concluida) {
+                exibida.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Aplica a cor e o estilo da linha à série de uma função recém-adicionada
+     *
+     * @param plotada função plotada
+     */
+    private void estilizarFuncao(FuncaoPlotada plotada) {
+        Estilo estilo = plotada.estilo;
+        if (estilo == null) {
+            return;
+        }
+        if (estilo.getCor() != null) {
+            // muda a cor do gráfico
+            ChartUtils.setCor(plotada.dados, estilo.getCor());
+        }
+        // define o estilo da linha
+        ChartUtils.setEstiloLinha(plotada.dados, estilo.getEstiloLinha());
+    }
+
+    /**
+     * Plotar um conjunto de pontos
+     *
+     * @param x array com os valores de X (não é copiado nem alterado)
+     * @param y array com os valores de Y (não é copiado nem alterado)
+     * @param titulo legenda do gráfico
+     * @param estilo opções de estilo
+     * @param linhasDeTendencia linhas de tendência
+     * @return conclusão da plotagem, quando os pontos e as linhas de
+     * tendência estão no gráfico
+     */
+    public CompletableFuture<Void> plotPontos(double[] x, double[] y, String titulo, Estilo estilo, LinhaDeTendencia... linhasDeTendencia) {
+        Renderizacao modo = this.renderizacao;
+        boolean usarPiramide = this.piramideMinMax;
+        Path diretorio = this.diretorioDePiramides;
+        Path dadosDaPiramide = this.dadosDasPiramides;
+        CompletableFuture<Void> exibida = new CompletableFuture<>();
+        return executar(exibida, () -> {
+            // os pontos são montados fora da thread do JavaFX, em uma lista
+            // pré-alocada que só é observada depois de pronta, e entram no
+            // gráfico de uma vez (um único evento de alteração)
+            List<XYChart.Data<Number, Number>> lista = new ArrayList<>(modo == Renderizacao.CANVAS ? 0 : x.length);
+            Polilinha polilinha = null;
+            if (modo == Renderizacao.CANVAS) {
+                // a polilinha usa os próprios arrays da série
+                polilinha = new Polilinha(x, y);
+            } else {
+                for (int i = 0; i < x.length; i++) {
+                    lista.add(new XYChart.Data<>(x[i], y[i]));
+                }
+            }
+            XYChart.Series<Number, Number> dados = new XYChart.Series<>(titulo, FXCollections.observableList(lista));
+
+            Polilinha pontos = polilinha;
+            // pirâmide de mínimos e máximos, lida do arquivo ou construída
+            Path arquivoDaPiramide = null;
+            long chave = 0;
+            PiramideMinMax carregada = null, construida = null;
+            if (usarPiramide && pontos != null && pontos.getTamanho() >= TAMANHO_MINIMO_PIRAMIDE
+                    && Decimacao.isOrdenada(pontos)) {
+                arquivoDaPiramide = diretorio != null ? diretorio.resolve(nomeDaPiramide(titulo, pontos)) : null;
+                if (arquivoDaPiramide != null && dadosDaPiramide != null) {
+                    try {
+                        chave = PiramideMinMax.chave(dadosDaPiramide);
+                    } catch (IOException ex) {
+                        // sem a chave, um arquivo gravado não pode ser conferido
+                        LOGGER.log(System.Logger.Level.WARNING, "Erro ao ler os atributos de " + dadosDaPiramide, ex);
+                        arquivoDaPiramide = null;
+                    }
+                }
+                carregada = carregarPiramide(pontos, arquivoDaPiramide, chave);
+                construida = carregada == null ? PiramideMinMax.construir(pontos) : null;
+            }
+            PiramideMinMax piramide = carregada != null ? carregada : construida;
+            // ordem e região ocupada pelos pontos, calculadas fora da thread do JavaFX
+            GraficoDeLinhas.PolilinhaPreparada preparada = pontos != null ? GraficoDeLinhas.preparar(pontos, piramide) : null;
+            // partes da plotagem: a série e as linhas de tendência
+            List<CompletableFuture<Void>> partes = new ArrayList<>();
+            CompletableFuture<Void> serie = new CompletableFuture<>();
+            partes.add(serie);
+            atualizacoes.agendar(() -> {
+                if (exibida.isCancelled()) {
+                    serie.cancel(false);
+                    return;
+                }
+                // adicionando os pontos no gráfico
+                if (pontos != null) {
+                    boolean marcador = estilo == null || estilo.exibirMarcador();
+                    this.graficoLinhas.setPolilinha(dados, preparada, marcador ? TAMANHO_MARCADOR : 0);
+                } else {
+                    this.graficoLinhas.getData().add(dados);
+                }
+                // estilo do gráfico
+                if (estilo == null) {
+                    return;
+                }
+                if (!estilo.exibirMarcador() && pontos == null) {
+                    // tira as bolinhas do gráfico
+                    ChartUtils.setTamanhoMarcador(dados, 0);
+                }
+                if (!estilo.exibirLinha()) {
+                    // tira a linha que liga as bolinhas                  
+                    ChartUtils.setLarguraLinha(dados, 0);
+                }
+                if (estilo.getCor() != null) {
+                    // muda a cor do gráfico
+                    ChartUtils.setCor(dados, estilo.getCor());
+                }
+                // define o estilo da linha
+                ChartUtils.setEstiloLinha(dados, estilo.getEstiloLinha());
+            });
+            // aplicada no mesmo quadro, depois da série e dos estilos
+            atualizacoes.agendar(() -> serie.complete(null));
+
+            // gravando a pirâmide para os próximos gráficos; o arquivo é só um
+            // cache, e a plotagem continua se ele não puder ser gravado
+            if (construida != null && arquivoDaPiramide != null) {
+                try {
+                    construida.salvar(arquivoDaPiramide, chave);
+                } catch (IOException ex) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Erro ao gravar a pirâmide da série em " + arquivoDaPiramide, ex);
+                }
+            }
+
+            // gerando as linhas de tendência
+            if (linhasDeTendencia != null) {
+                MomentosPolinomiais momentos = momentosCompartilhados(x, y, linhasDeTendencia);
+                for (LinhaDeTendencia linhaDeTendencia : linhasDeTendencia) {
+                    if (linhaDeTendencia == null) {
+                        continue;
+                    }
+                    if ((linhaDeTendencia.getTipo().isJanelaMovel() && y.length < 3)
+                            || (linhaDeTendencia.getTipo().isJanelaMovel() && linhaDeTendencia.getNumeroDePontos() > y.length - 1)) {
+                        // não é possível gerar a linha de tendência
+                        continue;
+                    }
+                    Funcao f = !linhaDeTendencia.getTipo().isJanelaMovel()
+                            ? gerarLinhaDeTendencia(x, y, linhaDeTendencia, momentos, exibida) : null;
+                    // gerando o título com base no tipo da linha de tendência
+                    StringBuilder tituloLinha = new StringBuilder();
+                    if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo() == POLINOMIAL) {
+                        switch (linhaDeTendencia.getGrau()) {
+                            case 1 ->
+                                tituloLinha.append("Linear");
+                            case 2 ->
+                                tituloLinha.append("Quadrática");
+                            case 3 ->
+                                tituloLinha.append("Cúbica");
+                            default ->
+                                tituloLinha.append(linhaDeTendencia.getTipo().toString())
+                                        .append(" grau ").append(linhaDeTendencia.getGrau());
+                        }
+                        tituloLinha.append(" (").append(titulo).append(")");
+                    } else if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo().isJanelaMovel()) {
+                        tituloLinha.append(linhaDeTendencia.getTipo().toString());
+                        if (linhaDeTendencia.getTipo() == QUANTIL_MOVEL) {
+                            tituloLinha.append(" ").append(new DecimalFormat("#.##").format(linhaDeTendencia.getQuantil()));
+                        }
+                        tituloLinha.append(" de ").append(linhaDeTendencia.getNumeroDePontos())
+                                .append(" pontos (").append(titulo).append(")");
+                    } else if (linhaDeTendencia.getTitulo() == null) {
+                        tituloLinha.append(linhaDeTendencia.getTipo().toString()).append(" (").append(titulo).append(")");
+                    } else {
+                        tituloLinha.append(linhaDeTendencia.getTitulo());
+                    }
+                    // definindo o início e o fim do intervalo
+                    double inicio = (linhaDeTendencia.getInicio() != MAX_VALUE
+                            && linhaDeTendencia.getInicio() < x[0]) ? linhaDeTendencia.getInicio() : x[0];
+                    double fim = (linhaDeTendencia.getFim() != MAX_VALUE
+                            && linhaDeTendencia.getFim() > x[x.length - 1]) ? linhaDeTendencia.getFim() : x[x.length - 1];
+                    // plotando a linha de tendência
+                    if ((linhaDeTendencia.getTipo() == POLINOMIAL && linhaDeTendencia.getGrau() <= 1)
+                            || linhaDeTendencia.getTipo().isJanelaMovel()) {
+                        double[] xn;
+                        double[] yn;
+                        if (linhaDeTendencia.getTipo().isJanelaMovel()) {
+                            int nPontos = linhaDeTendencia.getNumeroDePontos();
+                            double[] valores = new double[y.length + 1 - nPontos];
+                            switch (linhaDeTendencia.getTipo()) {
+                                case MEDIA_MOVEL_EXPONENCIAL ->
+                                    MediaMovel.exponencial(y.length, y, nPontos, valores);
+                                case MEDIA_MOVEL_PONDERADA ->
+                                    MediaMovel.ponderada(y.length, y, nPontos, valores);
+                                case MEDIANA_MOVEL ->
+                                    QuantilMovel.calcular(y.length, y, nPontos, 0.5, valores);
+                                case QUANTIL_MOVEL ->
+                                    QuantilMovel.calcular(y.length, y, nPontos, linhaDeTendencia.getQuantil(), valores);
+                                default ->
+                                    MediaMovel.simples(y.length, y, nPontos, valores);
+                            }
+                            xn = copyOfRange(x, nPontos - 1, x.length);
+                            yn = valores;
+                        } else {
+                            xn = new double[]{inicio, fim};
+                            yn = new double[2];
+                            f.apply(xn, yn);
+                        }
+                        Estilo estiloLinhaDeTendencia = new Estilo.Builder()
+                                .setExibirLinha(true)
+                                .setExibirMarcador(false)
+                                .setCor(linhaDeTendencia.getEstilo().getCor())
+                                .setEstiloLinha(linhaDeTendencia.getEstilo().getEstiloLinha())
+                                .build();
+                        partes.add(plotPontos(xn, yn, tituloLinha.toString(), estiloLinhaDeTendencia));
+                    } else {
+                        partes.add(plotFuncao(f, inicio, fim, tituloLinha.toString(), linhaDeTendencia.getEstilo(), false));
+                    }
+                }
+            }
+
+            // a plotagem termina junto com todas as partes; cancelá-la cancela
+            // as partes
+            exibida.whenComplete((r, e) -> {
+                if (exibida.isCancelled()) {
+                    partes.forEach(parte -> parte.cancel(false));
+                }
+            });
+            CompletableFuture.allOf(partes.toArray(CompletableFuture[]::new)).whenComplete((r, e) -> {
+                if (e != null) {
+                    exibida.completeExceptionally(e);
+                } else {
+                    exibida.complete(null);
+                }
+            });
+        });
+    }
+
+    /**
+     * Lê a pirâmide de mínimos e máximos de uma série, se o arquivo existir e
+     * corresponder aos pontos
+     *
+     * @param pontos pontos da série
+     * @param arquivo arquivo da pirâmide, ou null
+     * @param chave chave dos dados, ou 0 se eles não vêm de um arquivo
+     * @return pirâmide, ou null se ela precisa ser construída
+     */
+    private static PiramideMinMax carregarPiramide(Polilinha pontos, Path arquivo, long chave) {
+        if (arquivo == null || !Files.exists(arquivo)) {
+            return null;
+        }
+        try {
+            return PiramideMinMax.carregar(arquivo, pontos, chave);
+        } catch (IOException ex) {
+            // arquivo de outros dados: a pirâmide é construída e gravada de novo
+            return null;
+        }
+    }
+
+    /**
+     * Nome do arquivo da pirâmide de uma série: o título (só com caracteres
+     * seguros), o hash do título original, que distingue títulos que ficam
+     * iguais depois da troca dos caracteres, e o número de pontos
+     */
+    private static String nomeDaPiramide(String titulo, Polilinha pontos) {
+        String nome = titulo == null ? "serie" : titulo.replaceAll("[^\\w.-]", "_");
+        int hash = titulo == null ? 0 : titulo.hashCode();
+        return nome + "-" + Integer.toHexString(hash) + "-" + pontos.getTamanho() + ".piramide";
+    }
+
+    /**
+     * Acumula uma única vez as somas de potências dos pontos quando mais de
+     * uma linha de tendência polinomial (pelas equações normais) está
+     * associada à mesma série; todas elas são ajustadas a partir dessas somas
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @param linhasDeTendencia linhas de tendência da série
+     * @return somas compartilhadas, ou null se não houver o que compartilhar
+     */
+    private static MomentosPolinomiais momentosCompartilhados(double[] x, double[] y, LinhaDeTendencia[] linhasDeTendencia) {
+        int quantidade = 0;
+        int grauMaximo = 0;
+        for (LinhaDeTendencia linhaDeTendencia : linhasDeTendencia) {
+            if (linhaDeTendencia != null && linhaDeTendencia.getTipo() == POLINOMIAL
+                    && linhaDeTendencia.getMetodo() == Metodo.EQUACOES_NORMAIS) {
+                quantidade++;
+                grauMaximo = Math.max(grauMaximo, linhaDeTendencia.getGrau());
+            }
+        }
+        if (quantidade < 2) {
+            return null;
+        }
+        MomentosPolinomiais momentos = new MomentosPolinomiais(grauMaximo);
+        momentos.adicionar(x.length, x, y);
+        return momentos;
+    }
+
+    /**
+     * Gerar a linha de tendência associada ao gráfico de pontos
+     *
+     * @param x array com os valores de X do gráfico de pontos de origem
+     * @param y array com os valores de Y do gráfico de pontos de origem
+     * @param linhaDeTendencia linha de tendência
+     * @param momentos somas de potências de (x, y) compartilhadas entre as
+     * linhas polinomiais da série (pode ser null)
+     * @param exibida conclusão da plotagem da série; cancelada, as
+     * informações da linha de tendência não são exibidas
+     * @return linha de tendência
+     */
+    private Funcao gerarLinhaDeTendencia(double[] x, double[] y, LinhaDeTendencia linhaDeTendencia, MomentosPolinomiais momentos,
+            CompletableFuture<Void> exibida) {
+        // arrays primitivos com as transformações de cada tipo de linha de tendência
+        double[] xn = x;
+        double[] yn = y;
+        if (linhaDeTendencia.getTipo() == LOGARITMICA || linhaDeTendencia.getTipo() == POTENCIA) {
+            xn = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                xn[i] = log(x[i]);
+            }
+        }
+        if (linhaDeTendencia.getTipo() == EXPONENCIAL || linhaDeTendencia.getTipo() == POTENCIA) {
+            yn = new double[y.length];
+            for (int i = 0; i < y.length; i++) {
+                yn[i] = log(y[i]);
+            }
+        }
+
+        // ajuste pelo método escolhido; os coeficientes começam em b[0] (intercepto)
+        double[] b;
+        double r2;
+        double sigma2;
+        try {
+            if (linhaDeTendencia.getMetodo() == Metodo.QR) {
+                Householder qr = ajustePorQR(xn, yn, linhaDeTendencia.getGrau(), linhaDeTendencia.getB0());
+                double[] bq = qr.solve();
+                if (linhaDeTendencia.getB0() != MAX_VALUE) {
+                    // coeficientes livres após o intercepto fixo
+                    b = new double[bq.length + 1];
+                    b[0] = linhaDeTendencia.getB0();
+                    System.arraycopy(bq, 0, b, 1, bq.length);
+                } else {
+                    b = bq;
+                }
+                r2 = qr.getR2();
+                sigma2 = qr.getSigma2();
+            } else {
+                MomentosPolinomiais somas = momentos;
+                if (somas == null || linhaDeTendencia.getTipo() != POLINOMIAL) {
+                    somas = new MomentosPolinomiais(linhaDeTendencia.getGrau());
+                    somas.adicionar(xn.length, xn, yn);
+                }
+                Ajuste ajuste = linhaDeTendencia.getB0() != MAX_VALUE
+                        ? somas.ajustar(linhaDeTendencia.getGrau(), linhaDeTendencia.getB0())
+                        : somas.ajustar(linhaDeTendencia.getGrau());
+                b = ajuste.getCoeficientes();
+                r2 = ajuste.getR2();
+                sigma2 = ajuste.getSigma2();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gerar a linha de tendência.", e);
+        }
+
+        // exibindo as informações
+        boolean exibirEquacao = linhaDeTendencia.exibirEquacao();
+        boolean exibirR2 = linhaDeTendencia.exibirR2();
+        boolean exibirSigma2 = linhaDeTendencia.exibirSigma2();
+        if (exibirEquacao || exibirR2 || exibirSigma2) {
+            StringBuilder info = new StringBuilder();
+            Label l = new Label();
+            l.setStyle(l.getStyle() + "-fx-font-size:14px;");
+            l.setCursor(Cursor.MOVE);
+            atualizacoes.agendar(() -> {
+                if (exibida.isCancelled()) {
+                    return;
+                }
+                // posição inicial da label na tela
+                // é necessário uma implementação melhor desta parte!
+                this.stackPane.getChildren().add(l);
+                double h = this.stackPane.getHeight();
+                double w = this.stackPane.getWidth();
+                StackPane.setMargin(l, new Insets(h * 0.12 * stackPane.getChildren().size() - 1, 0, 0, w * 0.4));
+            });
+            l.setOnMouseDragged(event -> StackPane.setMargin(l, new Insets(event.getSceneY(), 0, 0, event.getSceneX())));
+            DecimalFormat df = new DecimalFormat("#.####");
+            if (exibirEquacao) {
+                StringBuilder sb = new StringBuilder("y = ");
+                switch (linhaDeTendencia.getTipo()) {
+                    case EXPONENCIAL -> {
+                        String a1 = df.format(exp(b[0]));
+                        String a2 = df.format(b[1]);
+                        sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
+                        if (!a2.equals("0")) {
+                            sb.append("e").append(a2.equals("1") ? "" : sup(a2)).append(sup("x"));
+                        }
+                    }
+                    case LOGARITMICA -> {
+                        String a1 = df.format(b[1]);
+                        if (!a1.equals("0")) {
+                            sb.append(a1.equals("1") ? "" : a1).append("ln(x)");
+                        }
+                        if (a1.equals("0")) {
+                            sb.append(df.format(b[0]));
+                        } else {
+                            if (b[0] > 0) {
+                                sb.append(" + ").append(df.format(b[0]));
+                            } else if (b[0] < 0) {
+                                sb.append(" - ").append(df.format(Math.abs(b[0])));
+                            }
+                        }
+                    }
+                    case POTENCIA -> {
+                        String a1 = df.format(exp(b[0]));
+                        String a2 = df.format(b[1]);
+                        sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
+                        if (!a2.equals("0")) {
+                            sb.append("x").append(a2.equals("1") ? "" : sup(a2));
+                        }
+                    }
+                    default -> {
+                        for (int i = b.length - 1; i >= 0; i--) {
+                            if (i != b.length - 1 && b[i] > 0) {
+                                sb.append(" + ");
+                            } else if (i != b.length - 1 && b[i] < 0) {
+                                sb.append(" - ");
+                            } else if (b[i] == 0) {
+                                continue;
+                            }
+                            if (!df.format(b[i]).equals("1") || i == 0) {
+                                sb.append(df.format(i != b.length - 1 ? Math.abs(b[i]) : b[i]));
+                            }
+                            sb.append(i > 0 ? "x" : "");
+                            sb.append(i >= 2 ? sup(i) : "");
+                        }
+                    }
+                }
+                info.append(info.isEmpty() ? "" : "\n").append(sb.toString());
+            }
+            if (exibirR2) {
+                info.append(info.isEmpty() ? "" : "\n").append("r² = ").append(df.format(r2));
+            }
+            if (exibirSigma2) {
+                info.append(info.isEmpty() ? "" : "\n").append("σ² = ").append(df.format(sigma2));
+            }
+            atualizacoes.agendar(() -> {
+                if (!exibida.isCancelled()) {
+                    l.setText(info.toString());
+                }
+            });
+        }
+
+        // gerando a função da linha de tendência, especializada pelo tipo
+        return switch (linhaDeTendencia.getTipo()) {
+            case EXPONENCIAL ->
+                new FuncaoExponencial(exp(b[0]), b[1]);
+            case LOGARITMICA ->
+                new FuncaoLogaritmica(b[1], b[0]);
+            case POTENCIA ->
+                new FuncaoPotencia(exp(b[0]), b[1]);
+            default ->
+                new FuncaoPolinomial(b);
+        };
+    }
+
+    /**
+     * Monta a matriz de Vandermonde (em ordem de colunas) para o ajuste de um
+     * polinômio pela decomposição QR. Com o intercepto fixo, a coluna
+     * constante é removida e b0 é subtraído de y.
+     *
+     * @param x valores de X (já transformados)
+     * @param y valores de Y (já transformados)
+     * @param grau grau do polinômio
+     * @param b0 intercepto fixo ou Double.MAX_VALUE
+     * @return método de Householder pronto para ser resolvido
+     */
+    private static Householder ajustePorQR(double[] x, double[] y, int grau, double b0) {
+        int n = x.length;
+        int primeiraPotencia = b0 != MAX_VALUE ? 1 : 0;
+        int p = grau + 1 - primeiraPotencia;
+        double[] A = new double[n * p];
+        double[] Y = y.clone();
+        for (int i = 0; i < n; i++) {
+            double potencia = primeiraPotencia == 1 ? x[i] : 1;
+            for (int j = 0; j < p; j++) {
+                A[j * n + i] = potencia;
+                potencia *= x[i];
+            }
+            if (b0 != MAX_VALUE) {
+                Y[i] -= b0;
+            }
+        }
+        return new Householder(n, p, A, Y);
+    }
+
+    /**
+     * Inicializador do controller
+     *
+     * @param url url
+     * @param rb rb
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle rb) {
+        this.graficoLinhas.setCreateSymbols(true);
+
+        // reamostrando as funções quando o intervalo ou a largura do eixo X
+        // mudam (aguarda as mudanças pararem antes de reamostrar)
+        this.reamostragem.setOnFinished(event -> funcoes.forEach(f -> amostrarFuncao(f, false)));
+        InvalidationListener eixoXMudou = observable -> reamostragem.playFromStart();
+        this.eixoX.lowerBoundProperty().addListener(eixoXMudou);
+        this.eixoX.upperBoundProperty().addListener(eixoXMudou);
+        this.eixoX.widthProperty().addListener(eixoXMudou);
+        this.eixoX.autoRangingProperty().addListener(eixoXMudou);
+
+        // adicionando o menu de contexto ao gráfico
+        ContextMenu cm = new ContextMenu();
+        MenuItem mi = new MenuItem("Salvar imagem");
+        mi.setOnAction(event -> {
+            File destino = FileUtils.escolherArquivoNoArmazenamento(FileUtils.getDiretorioAtual(), Tipo.SAVE);
+            if (destino != null) {
+                saveSnapshot(destino);
+            }
+        });
+        cm.getItems().add(mi);
+        this.graficoLinhas.setOnContextMenuRequested(event -> cm.show(graficoLinhas, event.getScreenX(), event.getScreenY()));
+
+        // exibir valores nos eixos do gráfico em notação científica
+        StringConverter<Number> sf = new StringConverter<Number>() {
+            private DecimalFormat format;
+
+            @Override
+            public String toString(Number number) {
+                if (Math.abs(number.doubleValue()) > 1e3) {
+                    format = new DecimalFormat("0.##E0");
+                } else {
+                    format = new DecimalFormat("0.##");
+                }
+                return format.format(number.doubleValue()).replaceAll("E0", "");
+            }
+
+            @Override
+            public Number fromString(String string) {
+                try {
+                    return format.parse(string);
+                } catch (ParseException e) {
+                    return 0;
+                }
+            }
+
+        };
+        this.eixoX.setTickLabelFormatter(sf);
+        this.eixoY.setTickLabelFormatter(sf);
+    }
+
+    /**
+     * Função plotada e o estado da sua amostragem mais recente
+     */
+    private static class FuncaoPlotada {
+
+        final Funcao funcao;
+        final double inicio;
+        final double fim;
+        final Estilo estilo;
+        final Renderizacao renderizacao;
+        final boolean armazenar;
+        final XYChart.Series<Number, Number> dados = new XYChart.Series<>();
+        // conclusão da plotagem, comum a todas as amostragens
+        final CompletableFuture<Void> exibida = new CompletableFuture<>();
+        // amostragem mais recente (protegida pelo próprio objeto)
+        AmostragemAdaptativa amostragem;
+        double inicioAmostrado = Double.NaN;
+        double fimAmostrado = Double.NaN;
+        double larguraAmostrada = Double.NaN;
+        volatile long geracao = 0;
+
+        FuncaoPlotada(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo, Renderizacao renderizacao,
+                boolean armazenar) {
+            this.funcao = funcao;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.estilo = estilo;
+            this.renderizacao = renderizacao;
+            this.armazenar = armazenar;
+            this.dados.setName(titulo);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package br.com.mauricioborges.graficos.gui;
+
+import br.com.mauricioborges.graficos.math.amostragem.Decimacao;
+import br.com.mauricioborges.graficos.math.amostragem.PiramideMinMax;
+import br.com.mauricioborges.graficos.math.amostragem.Polilinha;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.beans.InvalidationListener;
+import javafx.beans.NamedArg;
+import javafx.collections.ObservableList;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.Axis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+
+/**
+ * Gráfico de linhas que permite interromper a linha de uma série e desenhar
+ * séries grandes diretamente de arrays primitivos.<br>
+ * O ponto marcado com {@link #QUEBRA} como valor extra inicia um novo trecho
+ * da linha, sem ligá-lo ao ponto anterior (usado nas descontinuidades de
+ * funções).<br>
+ * As séries primitivas ({@link #setPolilinha}) não possuem um XYChart.Data
+ * por ponto: os pontos são desenhados em um único Canvas, usando os eixos do
+ * gráfico para converter as coordenadas. A série continua na lista de séries
+ * do gráfico (com apenas dois pontos invisíveis nos cantos, para o ajuste
+ * automático dos eixos), de modo que a legenda, a cor e os estilos aplicados
+ * à sua linha pelo ChartUtils continuam valendo.<br>
+ * A linha de uma série primitiva ordenada por X passa pela
+ * {@link Decimacao} antes de ser desenhada, refeita sempre que o intervalo
+ * visível do eixo X ou a largura do gráfico mudam. Quando a série possui uma
+ * {@link PiramideMinMax}, a decimação M4 é feita a partir dela. Os
+ * marcadores são desenhados apenas para os pontos visíveis e, quando há mais
+ * pontos do que pixels, a partir da linha decimada, com um marcador por pixel.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class GraficoDeLinhas extends LineChart<Number, Number> {
+
+    /**
+     * Valor extra que marca o primeiro ponto de um novo trecho da linha
+     */
+    static final Object QUEBRA = new Object();
+
+    // acima deste número de pontos visíveis por coluna de pixels, os
+    // marcadores são agrupados por pixel
+    private static final double MARCADORES_POR_COLUNA = 1;
+
+    private final Canvas canvas = new Canvas();
+    private final Map<Series<Number, Number>, SeriePrimitiva> primitivas = new LinkedHashMap<>();
+    private final InvalidationListener estiloMudou = observable -> requestChartLayout();
+    private Decimacao.Modo decimacao = Decimacao.Modo.M4;
+
+    /**
+     * Cria o gráfico com os eixos informados
+     *
+     * @param xAxis eixo X
+     * @param yAxis eixo Y
+     */
+    public GraficoDeLinhas(@NamedArg("xAxis") Axis<Number> xAxis, @NamedArg("yAxis") Axis<Number> yAxis) {
+        super(xAxis, yAxis);
+        canvas.setManaged(false);
+        canvas.setMouseTransparent(true);
+    }
+
+    /**
+     * Prepara os pontos de uma série primitiva: verifica a ordem por X e
+     * calcula a região ocupada pelos pontos. Percorre todos os pontos, e por
+     * isso deve ser chamado fora da thread do JavaFX.
+     *
+     * @param polilinha pontos da série
+     * @param piramide pirâmide de mínimos e máximos dos pontos, ou null
+     * @return pontos preparados
+     */
+    static PolilinhaPreparada preparar(Polilinha polilinha, PiramideMinMax piramide) {
+        PolilinhaPreparada preparada = new PolilinhaPreparada();
+        preparada.polilinha = polilinha;
+        preparada.piramide = piramide != null && piramide.getPontos() == polilinha ? piramide : null;
+        preparada.ordenada = preparada.piramide != null || Decimacao.isOrdenada(polilinha);
+        for (int i = 0; i < polilinha.getTamanho(); i++) {
+            double x = polilinha.getX(i);
+            double y = polilinha.getY(i);
+            if (Double.isFinite(x) && Double.isFinite(y)) {
+                preparada.xMin = Math.min(preparada.xMin, x);
+                preparada.xMax = Math.max(preparada.xMax, x);
+                preparada.yMin = Math.min(preparada.yMin, y);
+                preparada.yMax = Math.max(preparada.yMax, y);
+            }
+        }
+        return preparada;
+    }
+
+    /**
+     * Define os pontos de uma série primitiva, desenhada no Canvas (deve ser
+     * chamado na thread do JavaFX, com os pontos já preparados por
+     * {@link #preparar}). A série é adicionada ao gráfico caso ainda não
+     * esteja nele.
+     *
+     * @param serie série (sem pontos próprios)
+     * @param preparada pontos da série
+     * @param tamanhoMarcador tamanho do marcador em pixels (0 para não exibir)
+     */
+    void setPolilinha(Series<Number, Number> serie, PolilinhaPreparada preparada, double tamanhoMarcador) {
+        SeriePrimitiva primitiva = primitivas.computeIfAbsent(serie, s -> new SeriePrimitiva());
+        primitiva.polilinha = preparada.polilinha;
+        primitiva.tamanhoMarcador = tamanhoMarcador;
+        primitiva.piramide = preparada.piramide;
+        primitiva.ordenada = preparada.ordenada;
+        primitiva.decimada = null;
+
+        // cantos da região ocupada pelos pontos, para o ajuste dos eixos
+        List<Data<Number, Number>> cantos = new ArrayList<>(2);
+        if (preparada.xMin <= preparada.xMax) {
+            cantos.add(canto(preparada.xMin, preparada.yMin));
+            cantos.add(canto(preparada.xMax, preparada.yMax));
+        }
+        serie.getData().setAll(cantos);
+        if (serie.getChart() == null) {
+            getData().add(serie);
+        }
+        requestChartLayout();
+    }
+
+    /**
+     * Define o modo de decimação das linhas das séries primitivas
+     *
+     * @param decimacao modo de decimação
+     */
+    void setDecimacao(Decimacao.Modo decimacao) {
+        if (this.decimacao != decimacao) {
+            this.decimacao = decimacao;
+            for (SeriePrimitiva primitiva : primitivas.values()) {
+                primitiva.decimada = null;
+            }
+            requestChartLayout();
+        }
+    }
+
+    private static Data<Number, Number> canto(double x, double y) {
+        Data<Number, Number> canto = new Data<>(x, y);
+        Region invisivel = new Region();
+        invisivel.setVisible(false);
+        canto.setNode(invisivel);
+        return canto;
+    }
+
+    @Override
+    protected void layoutPlotChildren() {
+        super.layoutPlotChildren();
+        for (Series<Number, Number> serie : getData()) {
+            if (serie.getNode() instanceof Path linha && !primitivas.containsKey(serie) && possuiQuebras(serie)) {
+                // refaz a linha da série, trocando LineTo por MoveTo nas quebras
+                ObservableList<PathElement> elementos = linha.getElements();
+                elementos.clear();
+                boolean primeiro = true;
+                for (Data<Number, Number> ponto : serie.getData()) {
+                    double x = getXAxis().getDisplayPosition(ponto.getXValue());
+                    double y = getYAxis().getDisplayPosition(ponto.getYValue());
+                    if (Double.isNaN(x) || Double.isNaN(y)) {
+                        continue;
+                    }
+                    elementos.add(primeiro || ponto.getExtraValue() == QUEBRA ? new MoveTo(x, y) : new LineTo(x, y));
+                    primeiro = false;
+                }
+            }
+        }
+        desenharPrimitivas();
+    }
+
+    /**
+     * Desenha as séries primitivas no Canvas, com a cor, a largura e o
+     * tracejado que o CSS definiu para a linha de cada série
+     */
+    private void desenharPrimitivas() {
+        if (primitivas.isEmpty()) {
+            return;
+        }
+        if (canvas.getParent() == null) {
+            getPlotChildren().add(canvas);
+        }
+        canvas.toFront();
+        double largura = getXAxis().getWidth();
+        double altura = getYAxis().getHeight();
+        canvas.setWidth(largura);
+        canvas.setHeight(altura);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, largura, altura);
+
+        Iterator<Map.Entry<Series<Number, Number>, SeriePrimitiva>> it = primitivas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Series<Number, Number>, SeriePrimitiva> entrada = it.next();
+            Series<Number, Number> serie = entrada.getKey();
+            if (serie.getChart() != this) {
+                // a série foi removida do gráfico
+                it.remove();
+                continue;
+            }
+            if (!(serie.getNode() instanceof Path linha)) {
+                continue;
+            }
+            // a linha da série não é desenhada; ela guarda apenas o estilo
+            linha.getElements().clear();
+            SeriePrimitiva primitiva = entrada.getValue();
+            if (!primitiva.observada) {
+                linha.strokeProperty().addListener(estiloMudou);
+                linha.strokeWidthProperty().addListener(estiloMudou);
+                linha.getStrokeDashArray().addListener(estiloMudou);
+                primitiva.observada = true;
+            }
+            desenhar(g, primitiva, linha.getStroke(), linha.getStrokeWidth(), linha.getStrokeDashArray());
+        }
+    }
+
+    private void desenhar(GraphicsContext g, SeriePrimitiva primitiva, Paint cor, double larguraLinha, List<Double> tracejado) {
+        Axis<Number> eixoX = getXAxis();
+        Axis<Number> eixoY = getYAxis();
+        if (larguraLinha > 0) {
+            Polilinha p = decimar(primitiva);
+            g.setStroke(cor);
+            g.setLineWidth(larguraLinha);
+            double[] tracos = new double[tracejado.size()];
+            for (int i = 0; i < tracos.length; i++) {
+                tracos[i] = tracejado.get(i);
+            }
+            g.setLineDashes(tracos.length > 0 ? tracos : null);
+            g.beginPath();
+            for (int s = 0; s < p.getNumeroDeSegmentos(); s++) {
+                int inicio = p.getInicioSegmento(s);
+                g.moveTo(eixoX.getDisplayPosition(p.getX(inicio)), eixoY.getDisplayPosition(p.getY(inicio)));
+                for (int i = inicio + 1; i < p.getFimSegmento(s); i++) {
+                    g.lineTo(eixoX.getDisplayPosition(p.getX(i)), eixoY.getDisplayPosition(p.getY(i)));
+                }
+            }
+            g.stroke();
+        }
+        if (primitiva.tamanhoMarcador > 0) {
+            desenharMarcadores(g, primitiva, cor);
+        }
+    }
+
+    /**
+     * Desenha os marcadores dos pontos visíveis (em uma série ordenada por X,
+     * localizados por busca binária). Com mais de
+     * {@link #MARCADORES_POR_COLUNA} pontos visíveis por coluna de pixels, os
+     * marcadores vêm da linha decimada e cada pixel recebe no máximo um
+     * marcador.
+     */
+    private void desenharMarcadores(GraphicsContext g, SeriePrimitiva primitiva, Paint cor) {
+        Axis<Number> eixoX = getXAxis();
+        Axis<Number> eixoY = getYAxis();
+        double largura = eixoX.getWidth();
+        double altura = eixoY.getHeight();
+        double r = primitiva.tamanhoMarcador;
+        Polilinha p = primitiva.polilinha;
+        int inicio = 0;
+        int fim = p.getTamanho();
+        if (primitiva.ordenada && largura > 0) {
+            // trecho visível, com a margem do raio do marcador
+            double inferior = eixoX.toNumericValue(eixoX.getValueForDisplay(-r));
+            double superior = eixoX.toNumericValue(eixoX.getValueForDisplay(largura + r));
+            inicio = posicao(p, Math.min(inferior, superior));
+            fim = posicao(p, Math.nextUp(Math.max(inferior, superior)));
+        }
+        boolean agrupar = fim - inicio > MARCADORES_POR_COLUNA * Math.max(largura, 1);
+        if (agrupar && primitiva.ordenada) {
+            p = decimar(primitiva);
+            if (p != primitiva.polilinha) {
+                inicio = 0;
+                fim = p.getTamanho();
+            }
+        }
+        int colunas = (int) Math.ceil(largura) + 1;
+        BitSet ocupados = agrupar ? new BitSet(colunas * ((int) Math.ceil(altura) + 1)) : null;
+
+        g.setLineDashes((double[]) null);
+        g.setLineWidth(Math.max(1, r / 2.5));
+        g.setStroke(cor);
+        g.setFill(Color.WHITE);
+        for (int i = inicio; i < fim; i++) {
+            double x = eixoX.getDisplayPosition(p.getX(i));
+            double y = eixoY.getDisplayPosition(p.getY(i));
+            if (!(x >= -r && x <= largura + r && y >= -r && y <= altura + r)) {
+                continue;
+            }
+            if (ocupados != null && x >= 0 && x <= largura && y >= 0 && y <= altura) {
+                int pixel = (int) y * colunas + (int) x;
+                if (ocupados.get(pixel)) {
+                    continue;
+                }
+                ocupados.set(pixel);
+            }
+            g.fillOval(x - r, y - r, 2 * r, 2 * r);
+            g.strokeOval(x - r, y - r, 2 * r, 2 * r);
+        }
+    }
+
+    /**
+     * Posição do primeiro ponto com X maior ou igual ao valor, em uma
+     * polilinha ordenada por X
+     */
+    private static int posicao(Polilinha p, double x) {
+        int a = 0, b = p.getTamanho();
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (p.getX(m) < x) {
+                a = m + 1;
+            } else {
+                b = m;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Pontos da linha de uma série primitiva no intervalo visível, reduzidos
+     * conforme o modo de decimação; o resultado é guardado até que o
+     * intervalo ou a largura do eixo X mudem
+     */
+    private Polilinha decimar(SeriePrimitiva primitiva) {
+        Polilinha p = primitiva.polilinha;
+        int colunas = (int) Math.ceil(getXAxis().getWidth());
+        if (decimacao == Decimacao.Modo.NENHUMA || !primitiva.ordenada || colunas < 1
+                || p.getTamanho() <= 4 * colunas) {
+            return p;
+        }
+        double inferior = getXAxis().toNumericValue(getXAxis().getValueForDisplay(0));
+        double superior = getXAxis().toNumericValue(getXAxis().getValueForDisplay(colunas));
+        if (!(inferior < superior)) {
+            return p;
+        }
+        if (primitiva.decimada == null || primitiva.inferior != inferior
+                || primitiva.superior != superior || primitiva.colunas != colunas) {
+            if (decimacao == Decimacao.Modo.LTTB) {
+                primitiva.decimada = Decimacao.lttb(p, inferior, superior, 2 * colunas);
+            } else if (primitiva.piramide != null) {
+                primitiva.decimada = primitiva.piramide.m4(inferior, superior, colunas);
+            } else {
+                primitiva.decimada = Decimacao.m4(p, inferior, superior, colunas);
+            }
+            primitiva.inferior = inferior;
+            primitiva.superior = superior;
+            primitiva.colunas = colunas;
+        }
+        return primitiva.decimada;
+    }
+
+    private static boolean possuiQuebras(Series<Number, Number> serie) {
+        for (Data<Number, Number> ponto : serie.getData()) {
+            if (ponto.getExtraValue() == QUEBRA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pontos de uma série primitiva com a ordem e a região ocupada já
+     * calculadas
+     */
+    static final class PolilinhaPreparada {
+
+        private Polilinha polilinha;
+        private PiramideMinMax piramide;
+        private boolean ordenada;
+        private double xMin = Double.MAX_VALUE;
+        private double xMax = -Double.MAX_VALUE;
+        private double yMin = Double.MAX_VALUE;
+        private double yMax = -Double.MAX_VALUE;
+
+        private PolilinhaPreparada() {
+        }
+    }
+
+    /**
+     * Pontos e opções de uma série primitiva
+     */
+    private static class SeriePrimitiva {
+
+        Polilinha polilinha;
+        PiramideMinMax piramide;
+        double tamanhoMarcador;
+        boolean observada = false;
+        boolean ordenada;
+        Polilinha decimada;
+        double inferior;
+        double superior;
+        int colunas;
+    }
+}
@@ -1,19 +1,50 @@
-package br.com.mauricioborges.graficos.math;
-
-/**
- * Interface para declaração de funções através de expressões lambda
- *
- * @author Mauricio Borges
- * @since 2018
- */
-@FunctionalInterface
-public interface Funcao {
-
-    /**
-     * Aplicar o valor do parâmetro na função matemática
-     *
-     * @param x parâmetro
-     * @return resultado da expressão matemática
-     */
-    public abstract double apply(double x);
-}
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Interface para declaração de funções através de expressões lambda
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+@FunctionalInterface
+public interface Funcao {
+
+    /**
+     * Aplicar o valor do parâmetro na função matemática
+     *
+     * @param x parâmetro
+     * @return resultado da expressão matemática
+     */
+    public abstract double apply(double x);
+
+    /**
+     * Aplicar os n primeiros valores de x na função matemática, escrevendo os
+     * resultados em resultado<br>
+     * A implementação padrão chama {@link #apply(double)} para cada valor;
+     * funções que se beneficiam de avaliar vários pontos de uma vez podem
+     * sobrescrever este método
+     *
+     * @param x parâmetros
+     * @param resultado array onde os resultados serão escritos
+     * @param n número de valores a aplicar
+     */
+    public default void apply(double[] x, double[] resultado, int n) {
+        for (int i = 0; i < n; i++) {
+            resultado[i] = apply(x[i]);
+        }
+    }
+
+    /**
+     * Aplicar todos os valores de x na função matemática, escrevendo os
+     * resultados em resultado
+     *
+     * @param x parâmetros
+     * @param resultado array onde os resultados serão escritos
+     */
+    public default void apply(double[] x, double[] resultado) {
+        if (resultado.length < x.length) {
+            throw new IllegalArgumentException("O array de resultados deve ter pelo menos " + x.length + " posições.");
+        }
+        apply(x, resultado, x.length);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Função exponencial a·eᵏˣ
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class FuncaoExponencial implements Funcao {
+
+    private final double a;
+    private final double k;
+
+    /**
+     * Cria a função a·eᵏˣ
+     *
+     * @param a fator multiplicativo
+     * @param k coeficiente do expoente
+     */
+    public FuncaoExponencial(double a, double k) {
+        this.a = a;
+        this.k = k;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.exp(k * x);
+    }
+
+    @Override
+    public void apply(double[] x, double[] resultado, int n) {
+        for (int i = 0; i < n; i++) {
+            resultado[i] = a * Math.exp(k * x[i]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Função logarítmica a·ln(x) + b
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class FuncaoLogaritmica implements Funcao {
+
+    private final double a;
+    private final double b;
+
+    /**
+     * Cria a função a·ln(x) + b
+     *
+     * @param a coeficiente do logaritmo
+     * @param b termo constante
+     */
+    public FuncaoLogaritmica(double a, double b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.log(x) + b;
+    }
+
+    @Override
+    public void apply(double[] x, double[] resultado, int n) {
+        for (int i = 0; i < n; i++) {
+            resultado[i] = a * Math.log(x[i]) + b;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.mauricioborges.graficos.math;
+
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Função polinomial b₀ + b₁x + b₂x² + ... avaliada pelo método de Horner
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class FuncaoPolinomial implements Funcao {
+
+    private static final int BLOCO = 512;
+
+    private final double[] coeficientes;
+    private final int grau;
+
+    /**
+     * Cria a função a partir dos coeficientes
+     *
+     * @param coeficientes coeficientes b₀, b₁, b₂, ... (o array é copiado)
+     */
+    public FuncaoPolinomial(double... coeficientes) {
+        requireNonNull(coeficientes, "Os coeficientes não podem ser nulos.");
+        if (coeficientes.length == 0) {
+            throw new IllegalArgumentException("O polinômio deve ter pelo menos um coeficiente.");
+        }
+        this.coeficientes = coeficientes.clone();
+        this.grau = coeficientes.length - 1;
+    }
+
+    /**
+     * Obter o coeficiente do termo de grau i
+     *
+     * @param i grau do termo
+     * @return coeficiente
+     */
+    public double getCoeficiente(int i) {
+        return coeficientes[i];
+    }
+
+    /**
+     * Obter o grau do polinômio
+     *
+     * @return grau
+     */
+    public int getGrau() {
+        return grau;
+    }
+
+    @Override
+    public double apply(double x) {
+        double resultado = coeficientes[grau];
+        for (int i = grau - 1; i >= 0; i--) {
+            resultado = resultado * x + coeficientes[i];
+        }
+        return resultado;
+    }
+
+    @Override
+    public void apply(double[] x, double[] resultado, int n) {
+        // Horner com o laço sobre os pontos por dentro, em blocos que cabem
+        // no cache, para que o laço interno possa ser vetorizado
+        for (int inicio = 0; inicio < n; inicio += BLOCO) {
+            int fim = Math.min(inicio + BLOCO, n);
+            fill(resultado, inicio, fim, coeficientes[grau]);
+            for (int j = grau - 1; j >= 0; j--) {
+                double c = coeficientes[j];
+                for (int i = inicio; i < fim; i++) {
+                    resultado[i] = resultado[i] * x[i] + c;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Função potência a·xᵏ
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class FuncaoPotencia implements Funcao {
+
+    private final double a;
+    private final double k;
+
+    /**
+     * Cria a função a·xᵏ
+     *
+     * @param a fator multiplicativo
+     * @param k expoente
+     */
+    public FuncaoPotencia(double a, double k) {
+        this.a = a;
+        this.k = k;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.pow(x, k);
+    }
+
+    @Override
+    public void apply(double[] x, double[] resultado, int n) {
+        for (int i = 0; i < n; i++) {
+            resultado[i] = a * Math.pow(x[i], k);
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package br.com.mauricioborges.graficos.math.amostragem;
+
+import br.com.mauricioborges.graficos.math.Funcao;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Amostragem adaptativa de funções para o traçado de gráficos.<br>
+ * O intervalo é dividido inicialmente em uma malha uniforme e, em seguida, os
+ * subintervalos com maior erro de traçado são divididos ao meio até que o
+ * erro de todos fique abaixo da tolerância (em pixels) ou que o orçamento de
+ * avaliações se esgote. O erro de um subintervalo é a distância vertical, em
+ * pixels, entre o valor da função no ponto médio e a corda que liga as suas
+ * extremidades. A função é avaliada em lotes, pelo
+ * {@link Funcao#apply(double[], double[], int)}. Trechos retos recebem poucos pontos, e curvas acentuadas
+ * recebem tantos quantos forem necessários.<br>
+ * A escala vertical é estimada uma única vez, por uma malha uniforme de todo
+ * o intervalo pedido, e vale para todos os blocos do cache. Apenas os valores
+ * não finitos e os saltos que, sondados por bisseção, se mostram
+ * descontinuidades interrompem a polilinha em segmentos; valores finitos,
+ * por maiores que sejam, são mantidos e recortados pelo eixo.<br>
+ * Para funções de alto custo, a avaliação de cada lote pode ser dividida entre
+ * as threads do {@link ForkJoinPool} comum ({@link #setParalela(boolean)}). A
+ * ordem dos pontos é preservada e a detecção das descontinuidades só é feita
+ * depois que o lote inteiro foi avaliado, de modo que o resultado é o mesmo da
+ * avaliação sequencial.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class AmostragemAdaptativa {
+
+    /**
+     * Número máximo de avaliações da função padrão
+     */
+    public static final int ORCAMENTO_PADRAO = 2000;
+    /**
+     * Erro máximo de traçado padrão, em pixels
+     */
+    public static final double TOLERANCIA_PADRAO = 0.5;
+
+    /**
+     * Largura, em pixels, dos blocos guardados no cache
+     */
+    public static final int PIXELS_POR_BLOCO = 256;
+
+    private static final int INTERVALOS_INICIAIS = 128;
+    private static final int LOTE = 32;
+    private static final double SALTO_MINIMO = 0.05;
+    private static final int SONDAGENS = 32;
+    private static final long INTERVALO_DE_PROGRESSO = 100_000_000; // ns
+
+    // parâmetros da amostragem
+    private final double largura;
+    private final double altura;
+    private int orcamento = ORCAMENTO_PADRAO;
+    private double tolerancia = TOLERANCIA_PADRAO;
+    private boolean paralela = false;
+    private Progresso progresso = null;
+    private CacheDeAmostras cache = null;
+
+    // estado da última amostragem
+    private volatile boolean cancelada = false;
+    private int avaliacoes = 0;
+    private Funcao funcao;
+    private double janelaInferior;
+    private double janelaSuperior;
+    private double escalaY;
+
+    /**
+     * AMOSTRAGEM ADAPTATIVA
+     *
+     * @param largura (largura da área de traçado em pixels)
+     * @param altura (altura da área de traçado em pixels)
+     */
+    public AmostragemAdaptativa(double largura, double altura) {
+        if (!(largura > 0) || !(altura > 0)) {
+            throw new IllegalArgumentException("A largura e a altura devem ser maiores do que zero.");
+        }
+        this.largura = largura;
+        this.altura = altura;
+    }
+
+    /**
+     * Obter o número máximo de avaliações da função
+     *
+     * @return número máximo de avaliações
+     */
+    public int getOrcamento() {
+        return orcamento;
+    }
+
+    /**
+     * Definir o número máximo de avaliações da função (padrão é
+     * {@link #ORCAMENTO_PADRAO})
+     *
+     * @param orcamento número máximo de avaliações (pelo menos 3)
+     */
+    public void setOrcamento(int orcamento) {
+        if (orcamento < 3) {
+            throw new IllegalArgumentException("O orçamento deve ser de pelo menos 3 avaliações.");
+        }
+        this.orcamento = orcamento;
+    }
+
+    /**
+     * Obter o erro máximo de traçado, em pixels
+     *
+     * @return tolerância
+     */
+    public double getTolerancia() {
+        return tolerancia;
+    }
+
+    /**
+     * Definir o erro máximo de traçado, em pixels (padrão é
+     * {@link #TOLERANCIA_PADRAO})
+     *
+     * @param tolerancia tolerância
+     */
+    public void setTolerancia(double tolerancia) {
+        if (!(tolerancia > 0)) {
+            throw new IllegalArgumentException("A tolerância deve ser maior do que zero.");
+        }
+        this.tolerancia = tolerancia;
+    }
+
+    /**
+     * Informa se os lotes de avaliações são divididos entre várias threads
+     *
+     * @return true or false
+     */
+    public boolean isParalela() {
+        return paralela;
+    }
+
+    /**
+     * Dividir ou não cada lote de avaliações entre as threads do
+     * {@link ForkJoinPool} comum (padrão é false). Indicado para funções cujo
+     * custo de avaliação é alto (integrais numéricas, séries, simulações).
+     *
+     * @param paralela true or false
+     */
+    public void setParalela(boolean paralela) {
+        this.paralela = paralela;
+    }
+
+    /**
+     * Definir quem recebe os resultados parciais da amostragem (padrão é null)
+     *
+     * @param progresso receptor dos resultados parciais
+     */
+    public void setProgresso(Progresso progresso) {
+        this.progresso = progresso;
+    }
+
+    /**
+     * Definir o cache de blocos amostrados (padrão é null, sem cache)
+     *
+     * @param cache cache compartilhado entre as amostragens
+     */
+    public void setCache(CacheDeAmostras cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Cancela a amostragem em andamento; ela é interrompida antes do próximo
+     * lote de avaliações, com uma {@link CancellationException}.<br>
+     * O cancelamento é definitivo: uma amostragem que ainda não começou
+     * (por exemplo, na fila de um executor) falha antes da primeira avaliação.
+     */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    /**
+     * Obter o número de avaliações da função feitas na última amostragem
+     *
+     * @return número de avaliações
+     */
+    public int getAvaliacoes() {
+        return avaliacoes;
+    }
+
+    /**
+     * Amostra a função no intervalo.<br>
+     * Com um cache definido, o eixo X é dividido em blocos alinhados de
+     * {@link #PIXELS_POR_BLOCO} pixels, em uma resolução que é potência de 2;
+     * os blocos já amostrados são lidos do cache e apenas os que faltam são
+     * calculados. A escala vertical, estimada no intervalo pedido e arredondada
+     * para que pequenos deslocamentos não a alterem, faz parte da identificação
+     * dos blocos. A polilinha é então montada juntando os blocos e recortando
+     * as extremidades no intervalo pedido.
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @return polilinha com os pontos amostrados, em ordem crescente de X
+     */
+    public Polilinha amostrar(Funcao funcao, double inicio, double fim) {
+        this.funcao = requireNonNull(funcao, "A função não pode ser nula.");
+        if (!(fim > inicio)) {
+            throw new IllegalArgumentException("O fim do intervalo deve ser maior do que o início.");
+        }
+        avaliacoes = 0;
+        if (cancelada) {
+            throw new CancellationException("A amostragem foi cancelada.");
+        }
+        try {
+            if (cache == null) {
+                return amostrarIntervalo(inicio, fim, largura, orcamento, true, true);
+            }
+
+            // escala vertical do intervalo visível, comum a todos os blocos
+            int pontos = Math.min(2 * INTERVALOS_INICIAIS + 1, orcamento);
+            double[] xs = new double[pontos];
+            double[] ys = new double[pontos];
+            for (int i = 0; i < pontos; i++) {
+                xs[i] = i == pontos - 1 ? fim : inicio + (fim - inicio) * i / (pontos - 1);
+            }
+            avaliar(xs, ys, pontos);
+            if (!estimarEscala(ys, true)) {
+                // a função não possui valores finitos no intervalo
+                return new Polilinha(0);
+            }
+
+            // blocos alinhados na resolução (potência de 2) mais próxima da pedida
+            int nivel = Math.getExponent((fim - inicio) / largura);
+            double tamanhoBloco = Math.scalb((double) PIXELS_POR_BLOCO, nivel);
+            long primeiro = (long) Math.floor(inicio / tamanhoBloco);
+            long ultimo = (long) Math.ceil(fim / tamanhoBloco) - 1;
+            int orcamentoBloco = (int) Math.max(3, (long) orcamento * PIXELS_POR_BLOCO / largura);
+            Polilinha polilinha = new Polilinha();
+            long ultimoProgresso = System.nanoTime();
+            for (long k = primeiro; k <= ultimo; k++) {
+                CacheDeAmostras.Chave chave = new CacheDeAmostras.Chave(funcao, nivel, k, escalaY, janelaInferior, janelaSuperior);
+                Polilinha bloco = cache.obter(chave);
+                if (bloco == null) {
+                    bloco = amostrarIntervalo(k * tamanhoBloco, (k + 1) * tamanhoBloco, PIXELS_POR_BLOCO, orcamentoBloco, false, false);
+                    cache.guardar(chave, bloco);
+                }
+                anexar(polilinha, bloco, inicio, fim);
+                if (progresso != null && k < ultimo && System.nanoTime() - ultimoProgresso >= INTERVALO_DE_PROGRESSO) {
+                    progresso.atualizar(polilinha, (double) (k - primeiro + 1) / (ultimo - primeiro + 1));
+                    ultimoProgresso = System.nanoTime();
+                }
+            }
+            return polilinha;
+        } finally {
+            this.funcao = null;
+        }
+    }
+
+    /**
+     * Anexa o trecho de um bloco contido em [inicio, fim] à polilinha,
+     * interpolando as extremidades. Um segmento que começa exatamente onde o
+     * anterior terminou continua o mesmo segmento.
+     */
+    private static void anexar(Polilinha polilinha, Polilinha bloco, double inicio, double fim) {
+        for (int s = 0; s < bloco.getNumeroDeSegmentos(); s++) {
+            int a = bloco.getInicioSegmento(s);
+            int b = bloco.getFimSegmento(s);
+            if (bloco.getX(a) > fim) {
+                return;
+            }
+            if (bloco.getX(b - 1) < inicio) {
+                continue;
+            }
+            boolean continua = polilinha.getTamanho() > 0
+                    && polilinha.getX(polilinha.getTamanho() - 1) == bloco.getX(a);
+            if (!continua) {
+                polilinha.quebrar();
+            }
+            for (int i = continua ? a + 1 : a; i < b; i++) {
+                double x = bloco.getX(i);
+                if (x < inicio) {
+                    continue;
+                }
+                if (i > a && bloco.getX(i - 1) < inicio && x > inicio) {
+                    polilinha.adicionar(inicio, interpolar(bloco, i - 1, inicio));
+                }
+                if (x > fim) {
+                    if (i > a && bloco.getX(i - 1) < fim) {
+                        polilinha.adicionar(fim, interpolar(bloco, i - 1, fim));
+                    }
+                    return;
+                }
+                polilinha.adicionar(x, bloco.getY(i));
+            }
+        }
+    }
+
+    private static double interpolar(Polilinha p, int i, double x) {
+        double x0 = p.getX(i);
+        double x1 = p.getX(i + 1);
+        return p.getY(i) + (p.getY(i + 1) - p.getY(i)) * (x - x0) / (x1 - x0);
+    }
+
+    /**
+     * Amostragem adaptativa de um intervalo com o orçamento informado
+     *
+     * @param reportar enviar ou não os resultados parciais ao progresso
+     * @param estimar estimar a escala vertical pela malha inicial do
+     * intervalo, ou usar a já estimada
+     */
+    private Polilinha amostrarIntervalo(double inicio, double fim, double largura, int orcamento, boolean reportar, boolean estimar) {
+        long ultimoProgresso = System.nanoTime();
+        int limite = avaliacoes + orcamento;
+
+        // malha inicial uniforme (pontos calculados pelo índice, sem acumular erro)
+        int m = Math.min(Math.max(4, (int) (largura / 8)), Math.min(INTERVALOS_INICIAIS, (orcamento - 1) / 2));
+        int pontos = 2 * m + 1;
+        double[] xs = new double[pontos];
+        double[] ys = new double[pontos];
+        for (int i = 0; i < pontos; i++) {
+            xs[i] = i == pontos - 1 ? fim : inicio + (fim - inicio) * i / (pontos - 1);
+        }
+        avaliar(xs, ys, pontos);
+        if (estimar ? !estimarEscala(ys, false) : Arrays.stream(ys).noneMatch(Double::isFinite)) {
+            // a função não possui valores finitos no intervalo
+            return new Polilinha(0);
+        }
+
+        // refinamento dos subintervalos de maior erro
+        double larguraMinima = (fim - inicio) / largura / 4;
+        PriorityQueue<Intervalo> fila = new PriorityQueue<>(2 * m, (a, b) -> Double.compare(b.erro, a.erro));
+        for (int i = 0; i < m; i++) {
+            int j = 2 * i;
+            fila.add(new Intervalo(xs[j], ys[j], xs[j + 1], ys[j + 1], xs[j + 2], ys[j + 2]));
+        }
+        // a cada rodada, os pontos médios de até LOTE subintervalos são
+        // avaliados de uma só vez
+        // (com a avaliação paralela, os lotes são maiores para ocupar as threads)
+        int lote = paralela ? Math.max(LOTE, 8 * ForkJoinPool.getCommonPoolParallelism()) : LOTE;
+        List<Intervalo> folhas = new ArrayList<>(orcamento / 2);
+        Intervalo[] divididos = new Intervalo[lote];
+        double[] xm = new double[2 * lote];
+        double[] ym = new double[2 * lote];
+        boolean refinar = true;
+        while (refinar) {
+            if (cancelada) {
+                throw new CancellationException("A amostragem foi cancelada.");
+            }
+            if (reportar && progresso != null && System.nanoTime() - ultimoProgresso >= INTERVALO_DE_PROGRESSO) {
+                progresso.atualizar(montar(ordenar(folhas, fila)), (double) avaliacoes / limite);
+                ultimoProgresso = System.nanoTime();
+            }
+            int k = 0;
+            while (k < lote && !fila.isEmpty() && avaliacoes + 2 * (k + 1) <= limite) {
+                Intervalo intervalo = fila.peek();
+                if (intervalo.erro <= tolerancia) {
+                    break;
+                }
+                fila.poll();
+                if (intervalo.xm - intervalo.xa < larguraMinima) {
+                    folhas.add(intervalo);
+                    continue;
+                }
+                divididos[k] = intervalo;
+                xm[2 * k] = (intervalo.xa + intervalo.xm) / 2;
+                xm[2 * k + 1] = (intervalo.xm + intervalo.xb) / 2;
+                k++;
+            }
+            if (k == 0) {
+                refinar = false;
+                continue;
+            }
+            avaliar(xm, ym, 2 * k);
+            for (int i = 0; i < k; i++) {
+                Intervalo intervalo = divididos[i];
+                fila.add(new Intervalo(intervalo.xa, intervalo.ya, xm[2 * i], ym[2 * i], intervalo.xm, intervalo.ym));
+                fila.add(new Intervalo(intervalo.xm, intervalo.ym, xm[2 * i + 1], ym[2 * i + 1], intervalo.xb, intervalo.yb));
+            }
+        }
+        List<Intervalo> intervalos = ordenar(folhas, fila);
+        sondarSaltos(intervalos, limite + orcamento / 4);
+        return montar(intervalos);
+    }
+
+    /**
+     * Verifica, por bisseção, os subintervalos com um salto vertical maior do
+     * que {@link #SALTO_MINIMO} da altura. Em uma função contínua, o salto
+     * diminui junto com o subintervalo; em uma descontinuidade ou assíntota,
+     * ele se mantém ou cresce. Os saltos confirmados interrompem a polilinha,
+     * com os pontos da bisseção mais próximos de cada lado.
+     *
+     * @param limite limite de avaliações para as sondagens; quando ele se
+     * esgota, os saltos ainda não sondados são mantidos ligados
+     */
+    private void sondarSaltos(List<Intervalo> intervalos, int limite) {
+        double salto = SALTO_MINIMO * altura * escalaY;
+        double[] xs = new double[1];
+        double[] ys = new double[1];
+        for (Intervalo intervalo : intervalos) {
+            if (intervalo.erro <= tolerancia || !valido(intervalo.ya) || !valido(intervalo.ym) || !valido(intervalo.yb)) {
+                continue;
+            }
+            boolean esquerda = Math.abs(intervalo.ym - intervalo.ya) >= Math.abs(intervalo.yb - intervalo.ym);
+            double xa = esquerda ? intervalo.xa : intervalo.xm;
+            double ya = esquerda ? intervalo.ya : intervalo.ym;
+            double xb = esquerda ? intervalo.xm : intervalo.xb;
+            double yb = esquerda ? intervalo.ym : intervalo.yb;
+            if (Math.abs(yb - ya) <= salto) {
+                continue;
+            }
+            // bisseção, mantendo a metade com o maior salto
+            boolean concluida = true;
+            for (int i = 0; i < SONDAGENS; i++) {
+                xs[0] = (xa + xb) / 2;
+                if (xs[0] <= xa || xs[0] >= xb) {
+                    break;
+                }
+                if (avaliacoes >= limite) {
+                    concluida = false;
+                    break;
+                }
+                avaliar(xs, ys, 1);
+                if (!valido(ys[0])) {
+                    // ponto inválido entre os dois lados: descontinuidade
+                    break;
+                }
+                if (Math.abs(ys[0] - ya) >= Math.abs(yb - ys[0])) {
+                    xb = xs[0];
+                    yb = ys[0];
+                } else {
+                    xa = xs[0];
+                    ya = ys[0];
+                }
+            }
+            if (concluida && Math.abs(yb - ya) / escalaY > tolerancia) {
+                intervalo.salto = esquerda ? 1 : 2;
+                intervalo.xl = xa;
+                intervalo.yl = ya;
+                intervalo.xr = xb;
+                intervalo.yr = yb;
+            }
+        }
+    }
+
+    private static List<Intervalo> ordenar(List<Intervalo> folhas, PriorityQueue<Intervalo> fila) {
+        List<Intervalo> intervalos = new ArrayList<>(folhas.size() + fila.size());
+        intervalos.addAll(folhas);
+        intervalos.addAll(fila);
+        intervalos.sort((a, b) -> Double.compare(a.xa, b.xa));
+        return intervalos;
+    }
+
+    /**
+     * Monta a polilinha a partir dos subintervalos ordenados, interrompendo-a
+     * nos pontos inválidos e nos saltos confirmados
+     */
+    private Polilinha montar(List<Intervalo> intervalos) {
+        Polilinha polilinha = new Polilinha(2 * intervalos.size() + 1);
+        for (Intervalo intervalo : intervalos) {
+            adicionar(polilinha, intervalo.xa, intervalo.ya);
+            if (intervalo.salto == 1) {
+                quebrar(polilinha, intervalo);
+            }
+            adicionar(polilinha, intervalo.xm, intervalo.ym);
+            if (intervalo.salto == 2) {
+                quebrar(polilinha, intervalo);
+            }
+        }
+        Intervalo ultimo = intervalos.get(intervalos.size() - 1);
+        adicionar(polilinha, ultimo.xb, ultimo.yb);
+        return polilinha;
+    }
+
+    /**
+     * Avalia a função em lote; se o lote falhar, os pontos são avaliados um a
+     * um e os que falharem recebem NaN
+     */
+    private void avaliar(double[] x, double[] y, int n) {
+        avaliacoes += n;
+        if (paralela && n > 1) {
+            int grao = Math.max(1, n / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            new Avaliacao(funcao, x, y, 0, n, grao).invoke();
+        } else {
+            avaliar(funcao, x, y, n);
+        }
+    }
+
+    private static void avaliar(Funcao funcao, double[] x, double[] y, int n) {
+        try {
+            funcao.apply(x, y, n);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < n; i++) {
+                try {
+                    y[i] = funcao.apply(x[i]);
+                } catch (RuntimeException ex) {
+                    y[i] = Double.NaN;
+                }
+            }
+        }
+    }
+
+    /**
+     * Estima a escala vertical e a janela de valores típicos pela faixa entre
+     * os percentis 5 e 95 da malha inicial
+     *
+     * @param arredondar arredondar a janela (na potência de 2 da faixa) e a
+     * escala (em meias potências de 2), para identificar os blocos do cache
+     */
+    private boolean estimarEscala(double[] ys, boolean arredondar) {
+        double[] finitos = Arrays.stream(ys).filter(Double::isFinite).sorted().toArray();
+        if (finitos.length == 0) {
+            return false;
+        }
+        double p05 = finitos[(int) (0.05 * (finitos.length - 1))];
+        double p95 = finitos[(int) Math.ceil(0.95 * (finitos.length - 1))];
+        double faixa = p95 - p05;
+        if (faixa == 0) {
+            faixa = Math.max(Math.abs(p95), 1);
+        }
+        janelaInferior = p05 - 2 * faixa;
+        janelaSuperior = p95 + 2 * faixa;
+        if (arredondar) {
+            double unidade = Math.scalb(1.0, Math.getExponent(faixa));
+            janelaInferior = Math.floor(janelaInferior / unidade) * unidade;
+            janelaSuperior = Math.ceil(janelaSuperior / unidade) * unidade;
+        }
+
+        // faixa efetivamente ocupada pelos valores típicos
+        double minimo = Double.MAX_VALUE;
+        double maximo = -Double.MAX_VALUE;
+        for (double y : finitos) {
+            if (tipico(y)) {
+                minimo = Math.min(minimo, y);
+                maximo = Math.max(maximo, y);
+            }
+        }
+        double ocupada = maximo > minimo ? maximo - minimo : faixa;
+        if (arredondar) {
+            ocupada = Math.pow(2, Math.round(2 * Math.log(ocupada) / Math.log(2)) / 2.0);
+        }
+        escalaY = ocupada / altura;
+        return true;
+    }
+
+    private static boolean valido(double y) {
+        return Double.isFinite(y);
+    }
+
+    private boolean tipico(double y) {
+        return y >= janelaInferior && y <= janelaSuperior;
+    }
+
+    /**
+     * Interrompe a polilinha em um salto confirmado. Os pontos da bisseção só
+     * são incluídos quando estão na faixa típica da função: junto a uma
+     * assíntota eles são enormes e distorceriam o ajuste automático do eixo.
+     */
+    private void quebrar(Polilinha polilinha, Intervalo intervalo) {
+        if (tipico(intervalo.yl)) {
+            polilinha.adicionar(intervalo.xl, intervalo.yl);
+        }
+        polilinha.quebrar();
+        if (tipico(intervalo.yr)) {
+            polilinha.adicionar(intervalo.xr, intervalo.yr);
+        }
+    }
+
+    private void adicionar(Polilinha polilinha, double x, double y) {
+        if (valido(y)) {
+            polilinha.adicionar(x, y);
+        } else {
+            polilinha.quebrar();
+        }
+    }
+
+    /**
+     * Receptor dos resultados parciais da amostragem
+     */
+    @FunctionalInterface
+    public static interface Progresso {
+
+        /**
+         * Recebe a polilinha com os pontos calculados até o momento
+         *
+         * @param parcial polilinha parcial
+         * @param fracao fração do orçamento de avaliações já utilizada
+         */
+        public abstract void atualizar(Polilinha parcial, double fracao);
+    }
+
+    /**
+     * Avaliação de um lote dividida recursivamente entre as threads do
+     * {@link ForkJoinPool}; cada parte escreve apenas as suas posições
+     */
+    @SuppressWarnings("serial")
+    private static class Avaliacao extends RecursiveAction {
+
+        private final Funcao funcao;
+        private final double[] x;
+        private final double[] y;
+        private final int inicio;
+        private final int fim;
+        private final int grao;
+
+        Avaliacao(Funcao funcao, double[] x, double[] y, int inicio, int fim, int grao) {
+            this.funcao = funcao;
+            this.x = x;
+            this.y = y;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.grao = grao;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= grao) {
+                double[] xs = Arrays.copyOfRange(x, inicio, fim);
+                double[] ys = new double[xs.length];
+                avaliar(funcao, xs, ys, xs.length);
+                System.arraycopy(ys, 0, y, inicio, ys.length);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new Avaliacao(funcao, x, y, inicio, meio, grao), new Avaliacao(funcao, x, y, meio, fim, grao));
+        }
+    }
+
+    /**
+     * Subintervalo [xa, xb] com o valor da função nas extremidades e no ponto
+     * médio
+     */
+    private class Intervalo {
+
+        final double xa, ya, xm, ym, xb, yb;
+        final double erro;
+        // salto confirmado: 1 entre a e m, 2 entre m e b, com os pontos da
+        // bisseção à esquerda (xl, yl) e à direita (xr, yr)
+        int salto = 0;
+        double xl, yl, xr, yr;
+
+        Intervalo(double xa, double ya, double xm, double ym, double xb, double yb) {
+            this.xa = xa;
+            this.ya = ya;
+            this.xm = xm;
+            this.ym = ym;
+            this.xb = xb;
+            this.yb = yb;
+            int validos = (valido(ya) ? 1 : 0) + (valido(ym) ? 1 : 0) + (valido(yb) ? 1 : 0);
+            if (validos == 3) {
+                this.erro = Math.abs(ym - (ya + yb) / 2) / escalaY;
+            } else {
+                // refina a fronteira entre trechos válidos e inválidos
+                this.erro = validos == 0 ? 0 : Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+}
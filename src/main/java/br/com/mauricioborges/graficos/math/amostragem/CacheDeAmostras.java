@@ -0,0 +1,207 @@
+package br.com.mauricioborges.graficos.math.amostragem;
+
+import br.com.mauricioborges.graficos.math.Funcao;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de blocos de funções amostradas, com descarte do bloco usado há mais
+ * tempo (LRU) quando o limite de memória é atingido.<br>
+ * Cada bloco é identificado pela função (pela identidade do objeto), pela
+ * resolução (expoente da potência de 2 do tamanho do pixel), pela posição do
+ * bloco no eixo X e pela escala vertical da amostragem (valor de um pixel e
+ * janela de valores válidos). Os pontos ficam nos arrays
+ * primitivos da {@link Polilinha}.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class CacheDeAmostras {
+
+    /**
+     * Limite de memória padrão, em bytes
+     */
+    public static final long MEMORIA_PADRAO = 64L << 20;
+
+    private final LinkedHashMap<Chave, Polilinha> blocos = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoriaMaxima;
+    private long memoria = 0;
+    private long acertos = 0;
+    private long falhas = 0;
+
+    /**
+     * Cria um cache com o limite de memória padrão
+     */
+    public CacheDeAmostras() {
+        this(MEMORIA_PADRAO);
+    }
+
+    /**
+     * Cria um cache com o limite de memória informado
+     *
+     * @param memoriaMaxima limite de memória, em bytes
+     */
+    public CacheDeAmostras(long memoriaMaxima) {
+        if (memoriaMaxima < 0) {
+            throw new IllegalArgumentException("O limite de memória não pode ser negativo.");
+        }
+        this.memoriaMaxima = memoriaMaxima;
+    }
+
+    /**
+     * Obter o limite de memória, em bytes
+     *
+     * @return limite de memória
+     */
+    public synchronized long getMemoriaMaxima() {
+        return memoriaMaxima;
+    }
+
+    /**
+     * Definir o limite de memória, em bytes; os blocos usados há mais tempo
+     * são descartados até que o limite seja respeitado
+     *
+     * @param memoriaMaxima limite de memória
+     */
+    public synchronized void setMemoriaMaxima(long memoriaMaxima) {
+        if (memoriaMaxima < 0) {
+            throw new IllegalArgumentException("O limite de memória não pode ser negativo.");
+        }
+        this.memoriaMaxima = memoriaMaxima;
+        descartar();
+    }
+
+    /**
+     * Obter a memória ocupada pelos blocos, em bytes
+     *
+     * @return memória ocupada
+     */
+    public synchronized long getMemoria() {
+        return memoria;
+    }
+
+    /**
+     * Obter o número de blocos guardados
+     *
+     * @return número de blocos
+     */
+    public synchronized int getNumeroDeBlocos() {
+        return blocos.size();
+    }
+
+    /**
+     * Obter o número de blocos encontrados no cache
+     *
+     * @return número de acertos
+     */
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    /**
+     * Obter o número de blocos que não estavam no cache e foram calculados
+     *
+     * @return número de falhas
+     */
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    /**
+     * Descarta todos os blocos e zera os contadores
+     */
+    public synchronized void limpar() {
+        blocos.clear();
+        memoria = 0;
+        acertos = 0;
+        falhas = 0;
+    }
+
+    /**
+     * Descarta todos os blocos de uma função
+     *
+     * @param funcao função
+     */
+    public synchronized void remover(Funcao funcao) {
+        Iterator<Map.Entry<Chave, Polilinha>> it = blocos.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Chave, Polilinha> bloco = it.next();
+            if (bloco.getKey().funcao == funcao) {
+                memoria -= tamanho(bloco.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    synchronized Polilinha obter(Chave chave) {
+        Polilinha bloco = blocos.get(chave);
+        if (bloco != null) {
+            acertos++;
+        } else {
+            falhas++;
+        }
+        return bloco;
+    }
+
+    synchronized void guardar(Chave chave, Polilinha bloco) {
+        Polilinha anterior = blocos.put(chave, bloco);
+        if (anterior != null) {
+            memoria -= tamanho(anterior);
+        }
+        memoria += tamanho(bloco);
+        descartar();
+    }
+
+    private void descartar() {
+        Iterator<Polilinha> it = blocos.values().iterator();
+        while (memoria > memoriaMaxima && it.hasNext()) {
+            memoria -= tamanho(it.next());
+            it.remove();
+        }
+    }
+
+    private static long tamanho(Polilinha bloco) {
+        // arrays de X e Y, índices dos segmentos e cabeçalhos dos objetos
+        return 16L * bloco.getCapacidade() + 4L * bloco.getNumeroDeSegmentos() + 96;
+    }
+
+    /**
+     * Identificação de um bloco no cache
+     */
+    static final class Chave {
+
+        private final Funcao funcao;
+        private final int nivel;
+        private final long bloco;
+        private final double escalaY;
+        private final double janelaInferior;
+        private final double janelaSuperior;
+
+        Chave(Funcao funcao, int nivel, long bloco, double escalaY, double janelaInferior, double janelaSuperior) {
+            this.funcao = funcao;
+            this.nivel = nivel;
+            this.bloco = bloco;
+            this.escalaY = escalaY;
+            this.janelaInferior = janelaInferior;
+            this.janelaSuperior = janelaSuperior;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Chave outra && funcao == outra.funcao && nivel == outra.nivel
+                    && bloco == outra.bloco && escalaY == outra.escalaY
+                    && janelaInferior == outra.janelaInferior && janelaSuperior == outra.janelaSuperior;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(funcao);
+            hash = 31 * hash + nivel;
+            hash = 31 * hash + Long.hashCode(bloco);
+            hash = 31 * hash + Double.hashCode(escalaY);
+            hash = 31 * hash + Double.hashCode(janelaInferior);
+            return 31 * hash + Double.hashCode(janelaSuperior);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.mauricioborges.graficos.math.amostragem;
+
+/**
+ * Redução do número de pontos de uma polilinha para o traçado em uma largura
+ * de poucos pixels.<br>
+ * Os dois métodos trabalham sobre polilinhas ordenadas por X, apenas no
+ * trecho visível [inferior, superior] (mais um ponto de cada lado, para que as
+ * linhas que entram e saem do gráfico sejam mantidas), e preservam as quebras
+ * entre os segmentos.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public abstract class Decimacao {
+
+    /**
+     * Modos de decimação
+     */
+    public static enum Modo {
+        /**
+         * Todos os pontos são desenhados
+         */
+        NENHUMA,
+        /**
+         * Primeiro, último, mínimo e máximo de cada coluna de pixels; o
+         * traçado da linha é idêntico ao dos pontos originais
+         */
+        M4,
+        /**
+         * Largest-Triangle-Three-Buckets: mantém os pontos que preservam a
+         * forma visual da série, com um número fixo de pontos
+         */
+        LTTB
+    }
+
+    private Decimacao() {
+    }
+
+    /**
+     * Informa se os valores de X da polilinha estão em ordem crescente (não
+     * estrita)
+     *
+     * @param polilinha polilinha
+     * @return true or false
+     */
+    public static boolean isOrdenada(Polilinha polilinha) {
+        for (int i = 1; i < polilinha.getTamanho(); i++) {
+            if (!(polilinha.getX(i) >= polilinha.getX(i - 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decimação M4: em cada uma das colunas de pixels do trecho visível,
+     * mantém apenas o primeiro, o último, o menor e o maior ponto, na ordem
+     * original
+     *
+     * @param origem polilinha ordenada por X
+     * @param inferior início do trecho visível
+     * @param superior fim do trecho visível
+     * @param colunas número de colunas de pixels
+     * @return polilinha com no máximo 4 pontos por coluna e segmento
+     */
+    public static Polilinha m4(Polilinha origem, double inferior, double superior, int colunas) {
+        Polilinha destino = new Polilinha(4 * colunas + 4);
+        double larguraColuna = (superior - inferior) / colunas;
+        for (int s = 0; s < origem.getNumeroDeSegmentos(); s++) {
+            if (!visivel(origem, s, inferior, superior)) {
+                continue;
+            }
+            int inicio = primeiroVisivel(origem, origem.getInicioSegmento(s), origem.getFimSegmento(s), inferior);
+            int fim = ultimoVisivel(origem, origem.getInicioSegmento(s), origem.getFimSegmento(s), superior);
+            destino.quebrar();
+            long coluna = coluna(origem.getX(inicio), inferior, larguraColuna);
+            int primeiro = inicio, minimo = inicio, maximo = inicio, ultimo = inicio;
+            for (int i = inicio + 1; i <= fim; i++) {
+                long c = coluna(origem.getX(i), inferior, larguraColuna);
+                if (c != coluna) {
+                    emitir(origem, destino, primeiro, minimo, maximo, ultimo);
+                    coluna = c;
+                    primeiro = minimo = maximo = i;
+                }
+                if (origem.getY(i) < origem.getY(minimo)) {
+                    minimo = i;
+                }
+                if (origem.getY(i) > origem.getY(maximo)) {
+                    maximo = i;
+                }
+                ultimo = i;
+            }
+            emitir(origem, destino, primeiro, minimo, maximo, ultimo);
+        }
+        return destino;
+    }
+
+    /**
+     * Decimação LTTB (Largest-Triangle-Three-Buckets) do trecho visível: cada
+     * segmento é dividido em grupos e, de cada grupo, é mantido o ponto que
+     * forma o maior triângulo com o ponto escolhido no grupo anterior e a
+     * média do grupo seguinte
+     *
+     * @param origem polilinha ordenada por X
+     * @param inferior início do trecho visível
+     * @param superior fim do trecho visível
+     * @param pontos número de pontos desejado (por segmento, pelo menos 3)
+     * @return polilinha decimada
+     */
+    public static Polilinha lttb(Polilinha origem, double inferior, double superior, int pontos) {
+        pontos = Math.max(pontos, 3);
+        Polilinha destino = new Polilinha(pontos + 2);
+        for (int s = 0; s < origem.getNumeroDeSegmentos(); s++) {
+            if (!visivel(origem, s, inferior, superior)) {
+                continue;
+            }
+            int inicio = primeiroVisivel(origem, origem.getInicioSegmento(s), origem.getFimSegmento(s), inferior);
+            int fim = ultimoVisivel(origem, origem.getInicioSegmento(s), origem.getFimSegmento(s), superior);
+            destino.quebrar();
+            int n = fim - inicio + 1;
+            if (n <= pontos) {
+                for (int i = inicio; i <= fim; i++) {
+                    destino.adicionar(origem.getX(i), origem.getY(i));
+                }
+                continue;
+            }
+            // o primeiro e o último pontos são sempre mantidos
+            double tamanhoGrupo = (double) (n - 2) / (pontos - 2);
+            int escolhido = inicio;
+            destino.adicionar(origem.getX(inicio), origem.getY(inicio));
+            for (int g = 0; g < pontos - 2; g++) {
+                int grupoInicio = inicio + 1 + (int) (g * tamanhoGrupo);
+                int grupoFim = inicio + 1 + (int) ((g + 1) * tamanhoGrupo);
+                // média do grupo seguinte
+                int proximoInicio = grupoFim;
+                int proximoFim = Math.min(inicio + 1 + (int) ((g + 2) * tamanhoGrupo), fim + 1);
+                double xMedia = 0, yMedia = 0;
+                for (int i = proximoInicio; i < proximoFim; i++) {
+                    xMedia += origem.getX(i);
+                    yMedia += origem.getY(i);
+                }
+                int m = proximoFim - proximoInicio;
+                xMedia /= m;
+                yMedia /= m;
+                // ponto do grupo com o maior triângulo
+                double xa = origem.getX(escolhido);
+                double ya = origem.getY(escolhido);
+                double maiorArea = -1;
+                int maior = grupoInicio;
+                for (int i = grupoInicio; i < grupoFim; i++) {
+                    double area = Math.abs((xa - xMedia) * (origem.getY(i) - ya) - (xa - origem.getX(i)) * (yMedia - ya));
+                    if (area > maiorArea) {
+                        maiorArea = area;
+                        maior = i;
+                    }
+                }
+                escolhido = maior;
+                destino.adicionar(origem.getX(escolhido), origem.getY(escolhido));
+            }
+            destino.adicionar(origem.getX(fim), origem.getY(fim));
+        }
+        return destino;
+    }
+
+    static long coluna(double x, double inferior, double larguraColuna) {
+        return (long) Math.floor((x - inferior) / larguraColuna);
+    }
+
+    static void emitir(Polilinha origem, Polilinha destino, int primeiro, int minimo, int maximo, int ultimo) {
+        int menor = Math.min(minimo, maximo);
+        int maior = Math.max(minimo, maximo);
+        destino.adicionar(origem.getX(primeiro), origem.getY(primeiro));
+        if (menor != primeiro) {
+            destino.adicionar(origem.getX(menor), origem.getY(menor));
+        }
+        if (maior != menor && maior != primeiro) {
+            destino.adicionar(origem.getX(maior), origem.getY(maior));
+        }
+        if (ultimo != maior && ultimo != primeiro) {
+            destino.adicionar(origem.getX(ultimo), origem.getY(ultimo));
+        }
+    }
+
+    static boolean visivel(Polilinha p, int s, double inferior, double superior) {
+        return p.getX(p.getInicioSegmento(s)) <= superior && p.getX(p.getFimSegmento(s) - 1) >= inferior;
+    }
+
+    /**
+     * Posição do último ponto antes do trecho visível (ou do primeiro ponto
+     * do segmento)
+     */
+    static int primeiroVisivel(Polilinha p, int inicio, int fim, double inferior) {
+        int a = inicio, b = fim; // primeiro ponto com x >= inferior
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (p.getX(m) < inferior) {
+                a = m + 1;
+            } else {
+                b = m;
+            }
+        }
+        return Math.max(inicio, a - 1);
+    }
+
+    /**
+     * Posição do primeiro ponto depois do trecho visível (ou do último ponto
+     * do segmento)
+     */
+    static int ultimoVisivel(Polilinha p, int inicio, int fim, double superior) {
+        int a = inicio, b = fim; // primeiro ponto com x > superior
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (p.getX(m) <= superior) {
+                a = m + 1;
+            } else {
+                b = m;
+            }
+        }
+        return Math.min(fim - 1, a);
+    }
+}
@@ -0,0 +1,422 @@
+package br.com.mauricioborges.graficos.math.amostragem;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pirâmide de mínimos e máximos de uma polilinha grande ordenada por X, para
+ * a decimação M4 em qualquer nível de zoom sem percorrer todos os pontos.<br>
+ * O nível k guarda, para cada grupo alinhado de 2<sup>k</sup> pontos
+ * consecutivos, a posição do menor e a do maior valor de Y (a partir do nível
+ * {@link #NIVEL_BASE}). Os mínimos e máximos de qualquer trecho são obtidos
+ * combinando O(log n) grupos, de modo que a decimação lê O(pixels) entradas e
+ * produz o mesmo resultado de {@link Decimacao#m4}.<br>
+ * Os níveis são construídos em paralelo no {@link ForkJoinPool} comum, e a
+ * pirâmide pode ser gravada em arquivo ao lado dos dados
+ * ({@link #salvar(Path, long)}) para não ser reconstruída. A leitura confere
+ * uma chave dos dados informada por quem chama (por exemplo, o tamanho e a
+ * data de modificação do arquivo de origem, {@link #chave(Path)}) e, como
+ * verificação de sanidade, uma amostra dos pontos; o custo da conferência
+ * não depende do número de pontos.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class PiramideMinMax {
+
+    /**
+     * Nível do primeiro grupo guardado (grupos de 8 pontos); abaixo dele os
+     * pontos são lidos diretamente da polilinha
+     */
+    public static final int NIVEL_BASE = 3;
+
+    private static final int FORMATO = 0x504D4D03;
+    private static final int LIMITE_SEQUENCIAL = 1 << 14;
+    private static final int AMOSTRAS = 1024;
+    private static final int CABECALHO = 32;
+    private static final int TAMANHO_DO_BUFFER = 1 << 20;
+
+    private final Polilinha pontos;
+    private final long impressao;
+    private final int[][] minimos;
+    private final int[][] maximos;
+
+    private PiramideMinMax(Polilinha pontos, long impressao, int[][] minimos, int[][] maximos) {
+        this.pontos = pontos;
+        this.impressao = impressao;
+        this.minimos = minimos;
+        this.maximos = maximos;
+    }
+
+    /**
+     * Constrói a pirâmide de uma polilinha ordenada por X
+     *
+     * @param pontos polilinha (não deve ser alterada depois)
+     * @return pirâmide
+     */
+    public static PiramideMinMax construir(Polilinha pontos) {
+        if (!Decimacao.isOrdenada(pontos)) {
+            throw new IllegalArgumentException("Os pontos devem estar ordenados por X.");
+        }
+        int n = pontos.getTamanho();
+        int niveis = niveis(n);
+        int[][] minimos = new int[niveis][];
+        int[][] maximos = new int[niveis][];
+        for (int k = 0; k < niveis; k++) {
+            int grupos = ((n - 1) >> (k + NIVEL_BASE)) + 1;
+            minimos[k] = new int[grupos];
+            maximos[k] = new int[grupos];
+            new Construcao(pontos, minimos, maximos, k, 0, grupos).invoke();
+        }
+        return new PiramideMinMax(pontos, impressao(pontos), minimos, maximos);
+    }
+
+    private static int niveis(int n) {
+        return Math.max(0, 31 - Integer.numberOfLeadingZeros(Math.max(n, 1)) - NIVEL_BASE + 1);
+    }
+
+    /**
+     * Lê uma pirâmide gravada por {@link #salvar(Path, long)}.<br>
+     * A correspondência com os pontos é verificada pela chave dos dados, pelo
+     * número de pontos e por uma amostra deles
+     * ({@link #impressao(Polilinha)}); os níveis são lidos em blocos.
+     *
+     * @param arquivo arquivo da pirâmide
+     * @param pontos polilinha a partir da qual a pirâmide foi construída
+     * @param chave chave dos dados informada na gravação
+     * @return pirâmide
+     * @throws IOException se o arquivo não puder ser lido ou não corresponder
+     * aos pontos
+     */
+    public static PiramideMinMax carregar(Path arquivo, Polilinha pontos, long chave) throws IOException {
+        long impressao = impressao(pontos);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(CABECALHO);
+            ler(canal, buffer);
+            if (buffer.getInt() != FORMATO || buffer.getInt() != NIVEL_BASE || buffer.getInt() != pontos.getTamanho()
+                    || buffer.getLong() != chave || buffer.getLong() != impressao) {
+                throw new IOException("O arquivo " + arquivo + " não corresponde aos pontos.");
+            }
+            int niveis = buffer.getInt();
+            if (niveis != niveis(pontos.getTamanho())) {
+                throw new IOException("O arquivo " + arquivo + " está corrompido.");
+            }
+            int[][] minimos = new int[niveis][];
+            int[][] maximos = new int[niveis][];
+            for (int k = 0; k < niveis; k++) {
+                buffer.clear().limit(4);
+                ler(canal, buffer);
+                int grupos = buffer.getInt();
+                if (grupos != ((pontos.getTamanho() - 1) >> (k + NIVEL_BASE)) + 1) {
+                    throw new IOException("O arquivo " + arquivo + " está corrompido.");
+                }
+                minimos[k] = ler(canal, buffer, new int[grupos]);
+                maximos[k] = ler(canal, buffer, new int[grupos]);
+            }
+            return new PiramideMinMax(pontos, impressao, minimos, maximos);
+        }
+    }
+
+    /**
+     * Preenche o restante do buffer com o conteúdo do canal e o prepara para
+     * a leitura
+     */
+    private static void ler(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer) < 0) {
+                throw new EOFException("O arquivo da pirâmide está incompleto.");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Lê um array de inteiros do canal, em blocos do tamanho do buffer
+     */
+    private static int[] ler(FileChannel canal, ByteBuffer buffer, int[] destino) throws IOException {
+        for (int feitos = 0; feitos < destino.length;) {
+            int quantidade = Math.min(buffer.capacity() / 4, destino.length - feitos);
+            buffer.clear().limit(4 * quantidade);
+            ler(canal, buffer);
+            buffer.asIntBuffer().get(destino, feitos, quantidade);
+            feitos += quantidade;
+        }
+        return destino;
+    }
+
+    /**
+     * Grava um array de inteiros no canal, em blocos do tamanho do buffer
+     */
+    private static void gravar(FileChannel canal, ByteBuffer buffer, int[] origem) throws IOException {
+        for (int feitos = 0; feitos < origem.length;) {
+            int quantidade = Math.min(buffer.capacity() / 4, origem.length - feitos);
+            buffer.clear();
+            buffer.asIntBuffer().put(origem, feitos, quantidade);
+            buffer.limit(4 * quantidade);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            feitos += quantidade;
+        }
+    }
+
+    /**
+     * Chave dos dados lidos de um arquivo: combina o tamanho e a data de
+     * modificação do arquivo, de modo que uma alteração dos dados invalida a
+     * pirâmide gravada sem que os pontos sejam percorridos
+     *
+     * @param dados arquivo de onde os pontos foram lidos
+     * @return chave dos dados
+     * @throws IOException se os atributos do arquivo não puderem ser lidos
+     */
+    public static long chave(Path dados) throws IOException {
+        long hash = misturar(FORMATO, Files.size(dados));
+        return misturar(hash, Files.getLastModifiedTime(dados).toMillis());
+    }
+
+    /**
+     * Grava a pirâmide em arquivo, junto com a chave dos dados e uma
+     * identificação dos pontos usadas na leitura.<br>
+     * A pirâmide é gravada em um arquivo temporário no mesmo diretório, que
+     * depois substitui o arquivo de destino; uma gravação interrompida não
+     * deixa um arquivo incompleto.
+     *
+     * @param arquivo arquivo da pirâmide
+     * @param chave chave dos dados (por exemplo, {@link #chave(Path)}), a ser
+     * conferida na leitura
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public void salvar(Path arquivo, long chave) throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        Path temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+        try {
+            gravar(temporario, chave);
+            try {
+                Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private void gravar(Path arquivo, long chave) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_DO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(FORMATO).putInt(NIVEL_BASE).putInt(pontos.getTamanho())
+                    .putLong(chave).putLong(impressao).putInt(minimos.length).flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            for (int k = 0; k < minimos.length; k++) {
+                gravar(canal, buffer, new int[]{minimos[k].length});
+                gravar(canal, buffer, minimos[k]);
+                gravar(canal, buffer, maximos[k]);
+            }
+        }
+    }
+
+    /**
+     * Obter a polilinha da pirâmide
+     *
+     * @return polilinha
+     */
+    public Polilinha getPontos() {
+        return pontos;
+    }
+
+    /**
+     * Obter a impressão dos pontos da pirâmide
+     *
+     * @return impressão
+     */
+    public long getImpressao() {
+        return impressao;
+    }
+
+    /**
+     * Obter o número de níveis guardados
+     *
+     * @return número de níveis
+     */
+    public int getNumeroDeNiveis() {
+        return minimos.length;
+    }
+
+    /**
+     * Decimação M4 do trecho visível, com os mínimos e máximos de cada coluna
+     * de pixels lidos da pirâmide
+     *
+     * @param inferior início do trecho visível
+     * @param superior fim do trecho visível
+     * @param colunas número de colunas de pixels
+     * @return polilinha igual à de {@link Decimacao#m4}
+     */
+    public Polilinha m4(double inferior, double superior, int colunas) {
+        Polilinha destino = new Polilinha(4 * colunas + 4);
+        double larguraColuna = (superior - inferior) / colunas;
+        int[] extremos = new int[2];
+        for (int s = 0; s < pontos.getNumeroDeSegmentos(); s++) {
+            int inicioSegmento = pontos.getInicioSegmento(s);
+            int fimSegmento = pontos.getFimSegmento(s);
+            if (!Decimacao.visivel(pontos, s, inferior, superior)) {
+                continue;
+            }
+            int inicio = Decimacao.primeiroVisivel(pontos, inicioSegmento, fimSegmento, inferior);
+            int fim = Decimacao.ultimoVisivel(pontos, inicioSegmento, fimSegmento, superior) + 1;
+            destino.quebrar();
+            while (inicio < fim) {
+                // fim da coluna: primeiro ponto de uma coluna seguinte
+                long coluna = Decimacao.coluna(pontos.getX(inicio), inferior, larguraColuna);
+                int a = inicio + 1, b = fim;
+                while (a < b) {
+                    int m = (a + b) >>> 1;
+                    if (Decimacao.coluna(pontos.getX(m), inferior, larguraColuna) <= coluna) {
+                        a = m + 1;
+                    } else {
+                        b = m;
+                    }
+                }
+                extremos(inicio, a, extremos);
+                Decimacao.emitir(pontos, destino, inicio, extremos[0], extremos[1], a - 1);
+                inicio = a;
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Posições do menor e do maior valor de Y entre inicio (inclusive) e fim
+     * (exclusive); em caso de empate, a primeira posição
+     */
+    private void extremos(int inicio, int fim, int[] extremos) {
+        int minimo = inicio, maximo = inicio;
+        int i = inicio;
+        while (i < fim) {
+            // maior grupo alinhado em i que cabe no trecho
+            int k = Math.min(Integer.numberOfTrailingZeros(i), 31 - Integer.numberOfLeadingZeros(fim - i));
+            int candidatoMinimo, candidatoMaximo;
+            if (k < NIVEL_BASE || minimos.length == 0) {
+                candidatoMinimo = candidatoMaximo = i;
+                i++;
+            } else {
+                int nivel = Math.min(k, minimos.length + NIVEL_BASE - 1);
+                candidatoMinimo = minimos[nivel - NIVEL_BASE][i >> nivel];
+                candidatoMaximo = maximos[nivel - NIVEL_BASE][i >> nivel];
+                i += 1 << nivel;
+            }
+            if (pontos.getY(candidatoMinimo) < pontos.getY(minimo)) {
+                minimo = candidatoMinimo;
+            }
+            if (pontos.getY(candidatoMaximo) > pontos.getY(maximo)) {
+                maximo = candidatoMaximo;
+            }
+        }
+        extremos[0] = minimo;
+        extremos[1] = maximo;
+    }
+
+    /**
+     * Identificação dos pontos: hash de 64 bits do número de pontos e dos
+     * valores de X e Y de uma amostra de pontos igualmente espaçados
+     * (incluindo o primeiro e o último). É uma verificação de sanidade, de
+     * custo constante; alterações dos dados fora da amostra são detectadas
+     * pela chave informada na gravação.
+     *
+     * @param pontos polilinha
+     * @return impressão
+     */
+    public static long impressao(Polilinha pontos) {
+        int n = pontos.getTamanho();
+        long hash = n;
+        int amostras = Math.min(n, AMOSTRAS);
+        for (int a = 0; a < amostras; a++) {
+            int i = amostras == 1 ? 0 : (int) ((long) a * (n - 1) / (amostras - 1));
+            hash = misturar(hash, Double.doubleToLongBits(pontos.getX(i)));
+            hash = misturar(hash, Double.doubleToLongBits(pontos.getY(i)));
+        }
+        return hash;
+    }
+
+    private static long misturar(long hash, long valor) {
+        return (Long.rotateLeft(hash, 5) ^ valor) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Construção de uma parte de um nível da pirâmide, dividida no
+     * {@link ForkJoinPool}; o nível base lê os pontos e os demais combinam os
+     * pares de grupos do nível anterior
+     */
+    @SuppressWarnings("serial")
+    private static class Construcao extends RecursiveAction {
+
+        private final Polilinha pontos;
+        private final int[][] minimos;
+        private final int[][] maximos;
+        private final int k;
+        private final int inicio;
+        private final int fim;
+
+        Construcao(Polilinha pontos, int[][] minimos, int[][] maximos, int k, int inicio, int fim) {
+            this.pontos = pontos;
+            this.minimos = minimos;
+            this.maximos = maximos;
+            this.k = k;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if ((fim - inicio) << (k == 0 ? NIVEL_BASE : 1) > LIMITE_SEQUENCIAL) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new Construcao(pontos, minimos, maximos, k, inicio, meio),
+                        new Construcao(pontos, minimos, maximos, k, meio, fim));
+                return;
+            }
+            int n = pontos.getTamanho();
+            for (int j = inicio; j < fim; j++) {
+                int minimo, maximo;
+                if (k == 0) {
+                    int primeiro = j << NIVEL_BASE;
+                    minimo = maximo = primeiro;
+                    for (int i = primeiro + 1; i < Math.min(primeiro + (1 << NIVEL_BASE), n); i++) {
+                        if (pontos.getY(i) < pontos.getY(minimo)) {
+                            minimo = i;
+                        }
+                        if (pontos.getY(i) > pontos.getY(maximo)) {
+                            maximo = i;
+                        }
+                    }
+                } else {
+                    int[] minimosAnteriores = minimos[k - 1];
+                    int[] maximosAnteriores = maximos[k - 1];
+                    minimo = minimosAnteriores[2 * j];
+                    maximo = maximosAnteriores[2 * j];
+                    if (2 * j + 1 < minimosAnteriores.length) {
+                        if (pontos.getY(minimosAnteriores[2 * j + 1]) < pontos.getY(minimo)) {
+                            minimo = minimosAnteriores[2 * j + 1];
+                        }
+                        if (pontos.getY(maximosAnteriores[2 * j + 1]) > pontos.getY(maximo)) {
+                            maximo = maximosAnteriores[2 * j + 1];
+                        }
+                    }
+                }
+                minimos[k][j] = minimo;
+                maximos[k][j] = maximo;
+            }
+        }
+    }
+}
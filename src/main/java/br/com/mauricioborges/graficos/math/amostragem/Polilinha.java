@@ -0,0 +1,162 @@
+package br.com.mauricioborges.graficos.math.amostragem;
+
+import static java.util.Arrays.copyOf;
+
+/**
+ * Polilinha armazenada em arrays primitivos, dividida em segmentos contínuos.
+ * <br>
+ * Os pontos de todos os segmentos ficam em sequência nos mesmos arrays; cada
+ * segmento é identificado pela posição do seu primeiro ponto.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class Polilinha {
+
+    private double[] x;
+    private double[] y;
+    private int tamanho = 0;
+    private int[] inicios;
+    private int segmentos = 0;
+    private boolean quebrar = true;
+
+    /**
+     * Cria uma polilinha vazia
+     */
+    public Polilinha() {
+        this(64);
+    }
+
+    /**
+     * Cria uma polilinha vazia com a capacidade inicial informada
+     *
+     * @param capacidade número de pontos esperado
+     */
+    public Polilinha(int capacidade) {
+        capacidade = Math.max(capacidade, 1);
+        this.x = new double[capacidade];
+        this.y = new double[capacidade];
+        this.inicios = new int[4];
+    }
+
+    /**
+     * Cria uma polilinha de um único segmento sobre os arrays informados, sem
+     * copiá-los.<br>
+     * Os arrays não são alterados pela polilinha: o primeiro ponto adicionado
+     * depois da criação passa os pontos para arrays novos.
+     *
+     * @param x valores de X
+     * @param y valores de Y
+     */
+    public Polilinha(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        this.x = x;
+        this.y = y;
+        this.tamanho = x.length;
+        this.inicios = new int[4];
+        if (tamanho > 0) {
+            this.segmentos = 1;
+            this.quebrar = false;
+        }
+    }
+
+    /**
+     * Adiciona um ponto ao segmento atual
+     *
+     * @param x valor de X
+     * @param y valor de Y
+     */
+    public void adicionar(double x, double y) {
+        if (tamanho == this.x.length) {
+            this.x = copyOf(this.x, Math.max(2 * tamanho, 1));
+            this.y = copyOf(this.y, Math.max(2 * tamanho, 1));
+        }
+        if (quebrar) {
+            if (segmentos == inicios.length) {
+                inicios = copyOf(inicios, 2 * segmentos);
+            }
+            inicios[segmentos++] = tamanho;
+            quebrar = false;
+        }
+        this.x[tamanho] = x;
+        this.y[tamanho] = y;
+        tamanho++;
+    }
+
+    /**
+     * Encerra o segmento atual; o próximo ponto adicionado inicia um novo
+     * segmento
+     */
+    public void quebrar() {
+        quebrar = true;
+    }
+
+    /**
+     * Obter o número total de pontos
+     *
+     * @return número de pontos
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Obter o número de pontos que cabem nos arrays sem realocá-los
+     *
+     * @return capacidade
+     */
+    public int getCapacidade() {
+        return x.length;
+    }
+
+    /**
+     * Obter o valor de X de um ponto
+     *
+     * @param i posição do ponto
+     * @return valor de X
+     */
+    public double getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Obter o valor de Y de um ponto
+     *
+     * @param i posição do ponto
+     * @return valor de Y
+     */
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Obter o número de segmentos contínuos
+     *
+     * @return número de segmentos
+     */
+    public int getNumeroDeSegmentos() {
+        return segmentos;
+    }
+
+    /**
+     * Obter a posição do primeiro ponto de um segmento
+     *
+     * @param s segmento
+     * @return posição do primeiro ponto
+     */
+    public int getInicioSegmento(int s) {
+        return inicios[s];
+    }
+
+    /**
+     * Obter a posição seguinte ao último ponto de um segmento
+     *
+     * @param s segmento
+     * @return posição seguinte ao último ponto
+     */
+    public int getFimSegmento(int s) {
+        return s + 1 < segmentos ? inicios[s + 1] : tamanho;
+    }
+}
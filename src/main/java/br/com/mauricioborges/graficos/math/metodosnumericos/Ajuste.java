@@ -0,0 +1,54 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Resultado de um ajuste por mínimos quadrados
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public final class Ajuste {
+
+    private final double[] coeficientes;
+    private final double r2;
+    private final double sigma2;
+
+    /**
+     * AJUSTE
+     *
+     * @param coeficientes (coeficientes de regressão, b[0] é o intercepto)
+     * @param r2 (coeficiente de determinação)
+     * @param sigma2 (variância residual)
+     */
+    public Ajuste(double[] coeficientes, double r2, double sigma2) {
+        this.coeficientes = coeficientes;
+        this.r2 = r2;
+        this.sigma2 = sigma2;
+    }
+
+    /**
+     * Obter os coeficientes de regressão (b[0] é o intercepto)
+     *
+     * @return coeficientes
+     */
+    public double[] getCoeficientes() {
+        return coeficientes;
+    }
+
+    /**
+     * Obter o coeficiente de determinação
+     *
+     * @return coeficiente de determinação
+     */
+    public double getR2() {
+        return r2;
+    }
+
+    /**
+     * Obter a variância residual
+     *
+     * @return variância residual
+     */
+    public double getSigma2() {
+        return sigma2;
+    }
+}
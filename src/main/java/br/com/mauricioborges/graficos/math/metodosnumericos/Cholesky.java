@@ -1,71 +1,107 @@
-package br.com.mauricioborges.graficos.math.metodosnumericos;
-
-import static java.lang.Math.pow;
-import static java.lang.Math.sqrt;
-
-/**
- * Método Cholesky
- *
- * @author Mauricio Borges
- * @since 2018
- */
-public class Cholesky {
-
-    // parâmetros do método
-    private final int n;
-    private final Double[][] A;
-
-    // resultados
-    private double determinante = 1;
-
-    /**
-     * MÉTODO CHOLESKY
-     *
-     * @param n (ordem da matriz)
-     * @param A (matriz a ser decomposta)
-     */
-    public Cholesky(int n, Double[][] A) {
-        this.n = n;
-        this.A = A;
-    }
-
-    /**
-     * Obter o determinante
-     *
-     * @return determinante
-     */
-    public double getDeterminante() {
-        return determinante;
-    }
-
-    /**
-     * Resolve o método
-     *
-     * @return fator L escrito sobre A
-     */
-    public Double[][] solve() {
-        for (int j = 1; j <= n; j++) {
-            double soma = 0;
-            for (int k = 1; k <= (j - 1); k++) {
-                soma += pow(A[j][k], 2);
-            }
-            double t = A[j][j] - soma;
-            double r;
-            if (t > 0) {
-                A[j][j] = sqrt(t);
-                r = 1 / A[j][j];
-                determinante *= t;
-            } else {
-                throw new ArithmeticException("ERRO metodoCholesky: A matriz não é definida positiva!");
-            }
-            for (int i = (j + 1); i <= n; i++) {
-                soma = 0;
-                for (int k = 1; k <= (j - 1); k++) {
-                    soma += A[i][k] * A[j][k];
-                }
-                A[i][j] = (A[i][j] - soma) * r;
-            }
-        }
-        return A;
-    }
-}
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
+
+/**
+ * Método Cholesky
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+public class Cholesky {
+
+    // parâmetros do método
+    private final int n;
+    private final Double[][] A;
+
+    // resultados
+    private double determinante = 1;
+
+    /**
+     * MÉTODO CHOLESKY
+     *
+     * @param n (ordem da matriz)
+     * @param A (matriz a ser decomposta)
+     */
+    public Cholesky(int n, Double[][] A) {
+        this.n = n;
+        this.A = A;
+    }
+
+    /**
+     * Obter o determinante
+     *
+     * @return determinante
+     */
+    public double getDeterminante() {
+        return determinante;
+    }
+
+    /**
+     * Resolve o método
+     *
+     * @return fator L escrito sobre A
+     */
+    public Double[][] solve() {
+        for (int j = 1; j <= n; j++) {
+            double soma = 0;
+            for (int k = 1; k <= (j - 1); k++) {
+                soma += pow(A[j][k], 2);
+            }
+            double t = A[j][j] - soma;
+            double r;
+            if (t > 0) {
+                A[j][j] = sqrt(t);
+                r = 1 / A[j][j];
+                determinante *= t;
+            } else {
+                throw new ArithmeticException("ERRO metodoCholesky: A matriz não é definida positiva!");
+            }
+            for (int i = (j + 1); i <= n; i++) {
+                soma = 0;
+                for (int k = 1; k <= (j - 1); k++) {
+                    soma += A[i][k] * A[j][k];
+                }
+                A[i][j] = (A[i][j] - soma) * r;
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Decompõe, no próprio array, uma matriz simétrica definida positiva
+     * armazenada em ordem de linhas (índices começando em 0).<br>
+     * Apenas o triângulo inferior é escrito, o superior permanece intacto.
+     *
+     * @param n ordem da matriz
+     * @param A matriz n x n (A[i * n + j]) a ser decomposta
+     * @return determinante da matriz original
+     */
+    public static double decompor(int n, double[] A) {
+        double det = 1;
+        for (int j = 0; j < n; j++) {
+            int linhaJ = j * n;
+            double soma = 0;
+            for (int k = 0; k < j; k++) {
+                soma += A[linhaJ + k] * A[linhaJ + k];
+            }
+            double t = A[linhaJ + j] - soma;
+            if (!(t > 0)) {
+                throw new ArithmeticException("ERRO metodoCholesky: A matriz não é definida positiva!");
+            }
+            A[linhaJ + j] = sqrt(t);
+            double r = 1 / A[linhaJ + j];
+            det *= t;
+            for (int i = j + 1; i < n; i++) {
+                int linhaI = i * n;
+                soma = 0;
+                for (int k = 0; k < j; k++) {
+                    soma += A[linhaI + k] * A[linhaJ + k];
+                }
+                A[linhaI + j] = (A[linhaI + j] - soma) * r;
+            }
+        }
+        return det;
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais.produtoEscalar;
+import static java.lang.Math.abs;
+import static java.lang.Math.sqrt;
+
+/**
+ * Método dos mínimos quadrados pela decomposição QR com reflexões de
+ * Householder.<br>
+ * Trabalha diretamente sobre a matriz de planejamento n x p, sem formar as
+ * equações normais, e por isso não eleva ao quadrado o número de condição do
+ * problema (útil em polinômios de grau alto). A matriz é armazenada em ordem
+ * de colunas, de modo que cada reflexão percorre as colunas restantes de forma
+ * contígua na memória.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class Householder {
+
+    // parâmetros do método
+    private final int n;
+    private final int p;
+    private final double[] A;
+    private final double[] Y;
+
+    // resultados
+    private double r2 = 0;
+    private double sigma2 = 0;
+
+    /**
+     * MÉTODO DE HOUSEHOLDER
+     *
+     * @param n (número de pontos)
+     * @param p (número de parâmetros)
+     * @param A (matriz de planejamento n x p em ordem de colunas, A[j * n + i];
+     * é sobrescrita pela decomposição)
+     * @param Y (variáveis respostas; é sobrescrito por Qᵀy)
+     */
+    public Householder(int n, int p, double[] A, double[] Y) {
+        if (n < p) {
+            throw new IllegalArgumentException("O número de pontos deve ser maior ou igual ao número de parâmetros.");
+        }
+        this.n = n;
+        this.p = p;
+        this.A = A;
+        this.Y = Y;
+    }
+
+    /**
+     * Obter o coeficiente de determinação
+     *
+     * @return coeficiente de determinação
+     */
+    public double getR2() {
+        return r2;
+    }
+
+    /**
+     * Obter a variância residual
+     *
+     * @return variância residual
+     */
+    public double getSigma2() {
+        return sigma2;
+    }
+
+    /**
+     * Resolve o método
+     *
+     * @return coeficientes de regressão (índices começando em 0)
+     */
+    public double[] solve() {
+        // soma dos quadrados totais, em torno da média (Σy² - (Σy)²/n perde a
+        // precisão quando Y tem um deslocamento grande)
+        double media = 0;
+        for (int i = 0; i < n; i++) {
+            media += Y[i];
+        }
+        media /= n;
+        double SQT = 0;
+        for (int i = 0; i < n; i++) {
+            double d = Y[i] - media;
+            SQT += d * d;
+        }
+
+        double[] diagonal = new double[p];
+        for (int k = 0; k < p; k++) {
+            int colunaK = k * n;
+            int m = n - k;
+            double akk = A[colunaK + k];
+            double norma = sqrt(produtoEscalar(A, colunaK + k, A, colunaK + k, m));
+            if (norma == 0) {
+                throw new ArithmeticException("ERRO metodoHouseholder: A matriz não tem posto completo!");
+            }
+            double alfa = akk > 0 ? -norma : norma;
+            // vetor de Householder v = a - alfa e1, escrito sobre a coluna k
+            A[colunaK + k] = akk - alfa;
+            double vtv = 2 * norma * (norma + abs(akk));
+            for (int j = k + 1; j < p; j++) {
+                refletir(A, colunaK + k, A, j * n + k, m, vtv);
+            }
+            refletir(A, colunaK + k, Y, k, m, vtv);
+            diagonal[k] = alfa;
+        }
+
+        // R b = (Qᵀy)[0..p)
+        double[] b = new double[p];
+        for (int i = p - 1; i >= 0; i--) {
+            double soma = 0;
+            for (int j = i + 1; j < p; j++) {
+                soma += A[j * n + i] * b[j];
+            }
+            b[i] = (Y[i] - soma) / diagonal[i];
+        }
+
+        // soma dos quadrados dos resíduos: |(Qᵀy)[p..n)|²
+        double D = produtoEscalar(Y, p, Y, p, n - p);
+        r2 = 1 - (D / SQT); // coeficiente de determinação
+        sigma2 = D / (n - p); // variância residual
+        return b;
+    }
+
+    private static void refletir(double[] v, int inicioV, double[] a, int inicioA, int m, double vtv) {
+        double fator = 2 * produtoEscalar(v, inicioV, a, inicioA, m) / vtv;
+        for (int i = 0; i < m; i++) {
+            a[inicioA + i] -= fator * v[inicioV + i];
+        }
+    }
+}
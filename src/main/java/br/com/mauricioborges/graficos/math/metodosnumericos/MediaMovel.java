@@ -0,0 +1,115 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais.soma;
+
+/**
+ * Médias móveis calculadas com somas acumuladas ao longo da série, com custo
+ * O(1) amortizado por ponto.<br>
+ * Para que os erros de arredondamento das somas não se acumulem em séries
+ * longas, as somas da janela são recalculadas a cada
+ * {@link #INTERVALO_DE_CORRECAO} pontos (ou a cada janela, se ela for maior).
+ * <br>
+ * Para uma janela de k pontos e uma série de n pontos, todas as médias
+ * escrevem n - k + 1 valores, o primeiro correspondendo ao ponto k - 1 da
+ * série.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public abstract class MediaMovel {
+
+    /**
+     * Número de pontos entre dois recálculos completos das somas da janela
+     */
+    public static final int INTERVALO_DE_CORRECAO = 1024;
+
+    /**
+     * Média móvel simples
+     *
+     * @param n número de pontos da série
+     * @param y valores da série
+     * @param k número de pontos da janela
+     * @param saida array onde as n - k + 1 médias serão escritas
+     */
+    public static void simples(int n, double[] y, int k, double[] saida) {
+        validar(n, k, saida);
+        int intervalo = Math.max(INTERVALO_DE_CORRECAO, k);
+        double somaJanela = soma(y, 0, k);
+        saida[0] = somaJanela / k;
+        for (int i = 1; i <= n - k; i++) {
+            if (i % intervalo == 0) {
+                somaJanela = soma(y, i, i + k);
+            } else {
+                somaJanela += y[i + k - 1] - y[i - 1];
+            }
+            saida[i] = somaJanela / k;
+        }
+    }
+
+    /**
+     * Média móvel ponderada linearmente: na janela, o ponto mais recente tem
+     * peso k e o mais antigo tem peso 1
+     *
+     * @param n número de pontos da série
+     * @param y valores da série
+     * @param k número de pontos da janela
+     * @param saida array onde as n - k + 1 médias serão escritas
+     */
+    public static void ponderada(int n, double[] y, int k, double[] saida) {
+        validar(n, k, saida);
+        int intervalo = Math.max(INTERVALO_DE_CORRECAO, k);
+        double pesos = k * (k + 1) / 2.0;
+        double somaJanela = soma(y, 0, k);
+        double somaPonderada = somaPonderada(y, 0, k);
+        saida[0] = somaPonderada / pesos;
+        for (int i = 1; i <= n - k; i++) {
+            if (i % intervalo == 0) {
+                somaJanela = soma(y, i, i + k);
+                somaPonderada = somaPonderada(y, i, k);
+            } else {
+                // ao deslizar, cada ponto perde uma unidade de peso e o novo
+                // ponto entra com peso k
+                somaPonderada += k * y[i + k - 1] - somaJanela;
+                somaJanela += y[i + k - 1] - y[i - 1];
+            }
+            saida[i] = somaPonderada / pesos;
+        }
+    }
+
+    /**
+     * Média móvel exponencial com fator de suavização 2 / (k + 1), iniciada
+     * pela média simples dos k primeiros pontos
+     *
+     * @param n número de pontos da série
+     * @param y valores da série
+     * @param k número de pontos da janela
+     * @param saida array onde as n - k + 1 médias serão escritas
+     */
+    public static void exponencial(int n, double[] y, int k, double[] saida) {
+        validar(n, k, saida);
+        double alfa = 2.0 / (k + 1);
+        double media = soma(y, 0, k) / k;
+        saida[0] = media;
+        for (int i = 1; i <= n - k; i++) {
+            media += alfa * (y[i + k - 1] - media);
+            saida[i] = media;
+        }
+    }
+
+    private static double somaPonderada(double[] y, int inicio, int k) {
+        double s = 0;
+        for (int j = 0; j < k; j++) {
+            s += (j + 1) * y[inicio + j];
+        }
+        return s;
+    }
+
+    private static void validar(int n, int k, double[] saida) {
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("O número de pontos da janela deve estar entre 1 e " + n + ".");
+        }
+        if (saida.length < n - k + 1) {
+            throw new IllegalArgumentException("O array de saída deve ter pelo menos " + (n - k + 1) + " posições.");
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Método dos mínimos quadrados pelas equações normais, trabalhando apenas com
+ * arrays primitivos e índices começando em 0.<br>
+ * As áreas de trabalho são alocadas uma única vez no construtor e
+ * reaproveitadas a cada ajuste, de modo que acumular os pontos e resolver o
+ * sistema não gera lixo. A primeira coluna da matriz de planejamento deve ser
+ * a constante 1 (intercepto) para que r² e σ² tenham o mesmo significado da
+ * {@link RegressaoLinearMultipla}.<br>
+ * As somas com Y são acumuladas sobre y - y₀, em que y₀ é a variável
+ * resposta do primeiro ponto: com o intercepto na primeira coluna, o
+ * deslocamento só altera b[0], e a soma dos quadrados dos resíduos não perde
+ * a precisão quando Y tem um deslocamento grande em relação à sua variação.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class MinimosQuadrados {
+
+    // parâmetros do método
+    private final int p;
+
+    // áreas de trabalho
+    private final double[] Sxx; // triângulo inferior, ordem de linhas
+    private final double[] Sxy;
+    private final double[] L;
+    private final double[] b;
+    private final double[] c;
+    private final double[] linha;
+    private double Syy = 0;
+    private double n = 0;
+    private double referencia = 0; // y₀, subtraído de Y nas somas
+
+    // resultados
+    private double r2 = 0;
+    private double sigma2 = 0;
+
+    /**
+     * MÍNIMOS QUADRADOS
+     *
+     * @param p (número de parâmetros, incluindo o intercepto)
+     */
+    public MinimosQuadrados(int p) {
+        if (p < 1) {
+            throw new IllegalArgumentException("O número de parâmetros deve ser maior do que zero.");
+        }
+        this.p = p;
+        this.Sxx = new double[p * p];
+        this.Sxy = new double[p];
+        this.L = new double[p * p];
+        this.b = new double[p];
+        this.c = new double[p];
+        this.linha = new double[p];
+    }
+
+    /**
+     * Obter o número de parâmetros
+     *
+     * @return número de parâmetros
+     */
+    public int getNumeroDeParametros() {
+        return p;
+    }
+
+    /**
+     * Obter o número de pontos acumulados (soma dos pesos)
+     *
+     * @return número de pontos
+     */
+    public double getNumeroDePontos() {
+        return n;
+    }
+
+    /**
+     * Obter o coeficiente de determinação do último ajuste
+     *
+     * @return coeficiente de determinação
+     */
+    public double getR2() {
+        return r2;
+    }
+
+    /**
+     * Obter a variância residual do último ajuste
+     *
+     * @return variância residual
+     */
+    public double getSigma2() {
+        return sigma2;
+    }
+
+    /**
+     * Descarta todos os pontos acumulados, mantendo as áreas de trabalho
+     */
+    public void limpar() {
+        fill(Sxx, 0);
+        fill(Sxy, 0);
+        Syy = 0;
+        n = 0;
+    }
+
+    /**
+     * Acumula uma linha da matriz de planejamento
+     *
+     * @param X array contendo a linha
+     * @param inicio posição do primeiro elemento da linha em X
+     * @param passo distância entre elementos consecutivos da linha em X (1
+     * para ordem de linhas, número de pontos para ordem de colunas)
+     * @param y variável resposta
+     * @param peso peso do ponto
+     */
+    public void adicionar(double[] X, int inicio, int passo, double y, double peso) {
+        for (int i = 0, k = inicio; i < p; i++, k += passo) {
+            linha[i] = X[k];
+        }
+        acumularLinha(y, peso);
+    }
+
+    /**
+     * Acumula uma matriz de planejamento n x p armazenada em ordem de linhas
+     * (X[k * p + j])
+     *
+     * @param n número de pontos
+     * @param X matriz de planejamento
+     * @param Y variáveis respostas
+     */
+    public void acumularLinhas(int n, double[] X, double[] Y) {
+        for (int k = 0; k < n; k++) {
+            adicionar(X, k * p, 1, Y[k], 1);
+        }
+    }
+
+    /**
+     * Acumula uma matriz de planejamento n x p armazenada em ordem de colunas
+     * (X[j * n + k])
+     *
+     * @param n número de pontos
+     * @param X matriz de planejamento
+     * @param Y variáveis respostas
+     */
+    public void acumularColunas(int n, double[] X, double[] Y) {
+        for (int k = 0; k < n; k++) {
+            adicionar(X, k, n, Y[k], 1);
+        }
+    }
+
+    /**
+     * Acumula pontos para um ajuste polinomial de grau p - 1, gerando as
+     * linhas [1, x, x², ...] sem materializar a matriz de planejamento
+     *
+     * @param n número de pontos
+     * @param x variáveis explicativas
+     * @param y variáveis respostas
+     */
+    public void acumularPolinomio(int n, double[] x, double[] y) {
+        for (int k = 0; k < n; k++) {
+            double potencia = 1;
+            for (int j = 0; j < p; j++) {
+                linha[j] = potencia;
+                potencia *= x[k];
+            }
+            acumularLinha(y[k], 1);
+        }
+    }
+
+    /**
+     * Substitui os pontos acumulados pelas somas de potências de um ajuste
+     * polinomial de grau p - 1, montando a matriz Sxx[i][j] = Σxⁱ⁺ʲ sem
+     * percorrer os pontos
+     *
+     * @param somasX somas Σxᵏ, para k de 0 até pelo menos 2(p - 1)
+     * @param somasXY somas Σxᵏ(y - y₀), para k de 0 até pelo menos p - 1
+     * @param Syy soma Σ(y - y₀)²
+     * @param referencia y₀, valor subtraído de Y nas somas
+     */
+    public void carregarPolinomio(double[] somasX, double[] somasXY, double Syy, double referencia) {
+        for (int i = 0; i < p; i++) {
+            for (int j = 0; j <= i; j++) {
+                Sxx[i * p + j] = somasX[i + j];
+            }
+            Sxy[i] = somasXY[i];
+        }
+        this.Syy = Syy;
+        this.n = somasX[0];
+        this.referencia = referencia;
+    }
+
+    private void acumularLinha(double y, double peso) {
+        if (n == 0) {
+            referencia = y;
+        }
+        double d = y - referencia;
+        for (int i = 0; i < p; i++) {
+            double xi = linha[i] * peso;
+            int linhaI = i * p;
+            for (int j = 0; j <= i; j++) {
+                Sxx[linhaI + j] += xi * linha[j];
+            }
+            Sxy[i] += xi * d;
+        }
+        Syy += peso * d * d;
+        n += peso;
+    }
+
+    /**
+     * Resolve o método com os pontos acumulados até o momento.<br>
+     * O array retornado é reaproveitado pelos próximos ajustes; copie-o caso
+     * precise mantê-lo.
+     *
+     * @return coeficientes de regressão (b[0] é o intercepto)
+     */
+    public double[] solve() {
+        System.arraycopy(Sxx, 0, L, 0, Sxx.length);
+        Cholesky.decompor(p, L);
+        SubstituicoesSucessivas.resolver(p, L, Sxy, b);
+        SubstituicoesRetroativas.resolverTransposta(p, L, b, b);
+
+        // soma dos quadrados dos resíduos: Syy - 2 b.Sxy + b.Sxx.b = Syy - b.Sxy
+        // (sobre y - y₀)
+        double D = Syy;
+        for (int i = 0; i < p; i++) {
+            D -= b[i] * Sxy[i];
+        }
+        D = Math.max(D, 0);
+        r2 = 1 - (D / (Syy - (Sxy[0] * Sxy[0] / n))); // coeficiente de determinação
+        sigma2 = D / (n - p); // variância residual
+        b[0] += referencia;
+        return b;
+    }
+
+    /**
+     * Resolve o método com o intercepto fixo em b0 (mínimos quadrados com
+     * restrição).<br>
+     * O intercepto é eliminado analiticamente e apenas o sistema reduzido de
+     * ordem p - 1 é resolvido, sobre os mesmos momentos acumulados. r² e σ²
+     * passam a se referir ao modelo restrito, que possui p - 1 parâmetros
+     * livres.<br>
+     * O array retornado é reaproveitado pelos próximos ajustes; copie-o caso
+     * precise mantê-lo.
+     *
+     * @param b0 intercepto
+     * @return coeficientes de regressão (b[0] é igual a b0)
+     */
+    public double[] solve(double b0) {
+        int m = p - 1;
+        // sistema reduzido: Sxx[1..p][1..p] b' = Sxy[1..p] - b0 Sxx[1..p][0]
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j <= i; j++) {
+                L[i * m + j] = Sxx[(i + 1) * p + j + 1];
+            }
+            c[i] = Sxy[i + 1] - (b0 - referencia) * Sxx[(i + 1) * p];
+        }
+        if (m > 0) {
+            Cholesky.decompor(m, L);
+            SubstituicoesSucessivas.resolver(m, L, c, c);
+            SubstituicoesRetroativas.resolverTransposta(m, L, c, c);
+        }
+        b[0] = b0 - referencia;
+        System.arraycopy(c, 0, b, 1, m);
+
+        // soma dos quadrados dos resíduos: Syy - 2 b.Sxy + b.Sxx.b (sobre y - y₀)
+        double D = Syy;
+        for (int i = 0; i < p; i++) {
+            double Sxxb = 0;
+            for (int j = 0; j < p; j++) {
+                Sxxb += (i >= j ? Sxx[i * p + j] : Sxx[j * p + i]) * b[j];
+            }
+            D += b[i] * (Sxxb - 2 * Sxy[i]);
+        }
+        D = Math.max(D, 0);
+        r2 = 1 - (D / (Syy - (Sxy[0] * Sxy[0] / n))); // coeficiente de determinação
+        sigma2 = D / (n - m); // variância residual
+        b[0] = b0;
+        return b;
+    }
+}
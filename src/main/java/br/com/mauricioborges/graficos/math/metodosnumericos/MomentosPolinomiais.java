@@ -0,0 +1,313 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais.multiplicar;
+import static br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais.produtoEscalar;
+import static br.com.mauricioborges.graficos.math.metodosnumericos.OperacoesVetoriais.soma;
+import static java.util.Arrays.fill;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estatísticas suficientes de um ajuste polinomial: Σxᵏ, Σxᵏy e Σy².<br>
+ * As somas com Y são feitas sobre y - y₀, em que y₀ é a variável resposta
+ * do primeiro ponto acumulado, para que r² e σ² não percam a precisão quando
+ * Y tem um deslocamento grande (ver {@link MinimosQuadrados}).<br>
+ * Pontos podem ser adicionados e removidos em O(grau), o que permite
+ * acompanhar séries que crescem continuamente ou janelas deslizantes. Refazer
+ * o ajuste resolve apenas o sistema p x p, sem percorrer os pontos de novo.
+ * <br>
+ * Remoções sucessivas acumulam erros de arredondamento; em janelas muito
+ * longas, chame {@link #limpar()} e acumule a janela novamente de tempos em
+ * tempos.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class MomentosPolinomiais {
+
+    /**
+     * Número de pontos abaixo do qual a acumulação é feita sem dividir o
+     * trabalho entre threads
+     */
+    public static final int LIMITE_SEQUENCIAL = 1 << 16;
+
+    // tamanho dos blocos processados pelas operações vetoriais
+    private static final int BLOCO = 1024;
+
+    // parâmetros
+    private final int grauMaximo;
+
+    // somas
+    private final double[] somasX; // Σxᵏ, k = 0..2 grauMaximo
+    private final double[] somasXY; // Σxᵏ(y - y₀), k = 0..grauMaximo
+    private double Syy = 0; // Σ(y - y₀)²
+    private double referencia = 0; // y₀, definido pelo primeiro ponto
+    private boolean comReferencia = false;
+
+    // ajustes já criados, reaproveitados a cada chamada
+    private final MinimosQuadrados[] ajustes;
+
+    // áreas de trabalho das potências de x e dos valores y - y₀ de um bloco
+    private double[] potencias;
+    private double[] desvios;
+
+    /**
+     * MOMENTOS POLINOMIAIS
+     *
+     * @param grauMaximo (maior grau de polinômio que poderá ser ajustado)
+     */
+    public MomentosPolinomiais(int grauMaximo) {
+        if (grauMaximo < 0) {
+            throw new IllegalArgumentException("O grau não pode ser negativo.");
+        }
+        this.grauMaximo = grauMaximo;
+        this.somasX = new double[2 * grauMaximo + 1];
+        this.somasXY = new double[grauMaximo + 1];
+        this.ajustes = new MinimosQuadrados[grauMaximo + 1];
+    }
+
+    /**
+     * Obter o maior grau de polinômio que pode ser ajustado
+     *
+     * @return grau máximo
+     */
+    public int getGrauMaximo() {
+        return grauMaximo;
+    }
+
+    /**
+     * Obter o número de pontos acumulados
+     *
+     * @return número de pontos
+     */
+    public long getNumeroDePontos() {
+        return Math.round(somasX[0]);
+    }
+
+    /**
+     * Descarta todos os pontos acumulados
+     */
+    public void limpar() {
+        fill(somasX, 0);
+        fill(somasXY, 0);
+        Syy = 0;
+        referencia = 0;
+        comReferencia = false;
+    }
+
+    /**
+     * Adiciona um ponto
+     *
+     * @param x variável explicativa
+     * @param y variável resposta
+     */
+    public void adicionar(double x, double y) {
+        acumular(x, y, 1);
+    }
+
+    /**
+     * Remove um ponto adicionado anteriormente
+     *
+     * @param x variável explicativa
+     * @param y variável resposta
+     */
+    public void remover(double x, double y) {
+        acumular(x, y, -1);
+    }
+
+    /**
+     * Adiciona os n primeiros pontos dos arrays.<br>
+     * Acima de {@link #LIMITE_SEQUENCIAL} pontos, os arrays são divididos em
+     * blocos acumulados em paralelo no ForkJoinPool comum, e as somas parciais
+     * são combinadas ao final.
+     *
+     * @param n número de pontos
+     * @param x variáveis explicativas
+     * @param y variáveis respostas
+     */
+    public void adicionar(int n, double[] x, double[] y) {
+        if (n <= LIMITE_SEQUENCIAL) {
+            adicionar(0, n, x, y);
+        } else {
+            combinar(new Acumulacao(grauMaximo, x, y, 0, n).invoke());
+        }
+    }
+
+    private void adicionar(int inicio, int fim, double[] x, double[] y) {
+        if (potencias == null) {
+            potencias = new double[BLOCO];
+            desvios = new double[BLOCO];
+        }
+        if (!comReferencia && fim > inicio) {
+            referencia = y[inicio];
+            comReferencia = true;
+        }
+        // para cada bloco, as potências xᵏ são mantidas em um array e
+        // atualizadas grau a grau, de modo que cada soma é um laço simples
+        // sobre arrays primitivos (vetorizável)
+        for (int bloco = inicio; bloco < fim; bloco += BLOCO) {
+            int m = Math.min(BLOCO, fim - bloco);
+            fill(potencias, 0, m, 1);
+            for (int i = 0; i < m; i++) {
+                desvios[i] = y[bloco + i] - referencia;
+            }
+            for (int k = 0; k < somasX.length; k++) {
+                somasX[k] += soma(potencias, 0, m);
+                if (k <= grauMaximo) {
+                    somasXY[k] += produtoEscalar(potencias, 0, desvios, 0, m);
+                }
+                if (k + 1 < somasX.length) {
+                    multiplicar(potencias, 0, x, bloco, m);
+                }
+            }
+            Syy += produtoEscalar(desvios, 0, desvios, 0, m);
+        }
+    }
+
+    /**
+     * Soma os pontos acumulados em outro objeto a este
+     *
+     * @param outro momentos com o mesmo grau máximo
+     */
+    public void combinar(MomentosPolinomiais outro) {
+        if (outro.grauMaximo != grauMaximo) {
+            throw new IllegalArgumentException("Os momentos devem ter o mesmo grau máximo.");
+        }
+        if (!outro.comReferencia) {
+            return;
+        }
+        if (!comReferencia) {
+            referencia = outro.referencia;
+            comReferencia = true;
+        }
+        // somas do outro sobre y - y₀ deste: (y - y₀') + d, com d = y₀' - y₀
+        double d = outro.referencia - referencia;
+        for (int k = 0; k < somasX.length; k++) {
+            somasX[k] += outro.somasX[k];
+        }
+        for (int k = 0; k < somasXY.length; k++) {
+            somasXY[k] += outro.somasXY[k] + d * outro.somasX[k];
+        }
+        Syy += outro.Syy + d * (2 * outro.somasXY[0] + d * outro.somasX[0]);
+    }
+
+    private void acumular(double x, double y, double sinal) {
+        if (!comReferencia) {
+            referencia = y;
+            comReferencia = true;
+        }
+        double d = y - referencia;
+        double potencia = sinal;
+        for (int k = 0; k <= grauMaximo; k++) {
+            somasX[k] += potencia;
+            somasXY[k] += potencia * d;
+            potencia *= x;
+        }
+        for (int k = grauMaximo + 1; k < somasX.length; k++) {
+            somasX[k] += potencia;
+            potencia *= x;
+        }
+        Syy += sinal * d * d;
+    }
+
+    /**
+     * Prepara o ajuste de um polinômio com os pontos acumulados até o momento.
+     * <br>
+     * O objeto retornado é reaproveitado pelas próximas chamadas com o mesmo
+     * grau; basta chamar {@link MinimosQuadrados#solve()} ou
+     * {@link MinimosQuadrados#solve(double)} para obter os coeficientes.
+     *
+     * @param grau grau do polinômio (no máximo {@link #getGrauMaximo()})
+     * @return método dos mínimos quadrados carregado com as somas
+     */
+    public MinimosQuadrados ajuste(int grau) {
+        if (grau < 0 || grau > grauMaximo) {
+            throw new IllegalArgumentException("O grau deve estar entre 0 e " + grauMaximo + ".");
+        }
+        if (ajustes[grau] == null) {
+            ajustes[grau] = new MinimosQuadrados(grau + 1);
+        }
+        ajustes[grau].carregarPolinomio(somasX, somasXY, Syy, referencia);
+        return ajustes[grau];
+    }
+
+    /**
+     * Ajusta um polinômio com os pontos acumulados até o momento
+     *
+     * @param grau grau do polinômio (no máximo {@link #getGrauMaximo()})
+     * @return coeficientes, r² e σ²
+     */
+    public Ajuste ajustar(int grau) {
+        MinimosQuadrados mq = ajuste(grau);
+        double[] b = mq.solve().clone();
+        return new Ajuste(b, mq.getR2(), mq.getSigma2());
+    }
+
+    /**
+     * Ajusta um polinômio com intercepto fixo com os pontos acumulados até o
+     * momento
+     *
+     * @param grau grau do polinômio (no máximo {@link #getGrauMaximo()})
+     * @param b0 intercepto
+     * @return coeficientes, r² e σ² do modelo restrito
+     */
+    public Ajuste ajustar(int grau, double b0) {
+        MinimosQuadrados mq = ajuste(grau);
+        double[] b = mq.solve(b0).clone();
+        return new Ajuste(b, mq.getR2(), mq.getSigma2());
+    }
+
+    /**
+     * Ajusta polinômios de vários graus com os mesmos pontos acumulados.<br>
+     * A matriz das equações normais de cada grau é uma submatriz da matriz do
+     * grau máximo, então os pontos são percorridos uma única vez, na
+     * acumulação, e cada grau custa apenas a solução do seu sistema.
+     *
+     * @param graus graus dos polinômios (cada um no máximo
+     * {@link #getGrauMaximo()})
+     * @return ajustes, na mesma ordem dos graus
+     */
+    public Ajuste[] ajustarGraus(int... graus) {
+        Ajuste[] resultado = new Ajuste[graus.length];
+        for (int i = 0; i < graus.length; i++) {
+            resultado[i] = ajustar(graus[i]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Acumulação de um bloco de pontos, dividido ao meio enquanto for maior
+     * do que {@link #LIMITE_SEQUENCIAL}
+     */
+    @SuppressWarnings("serial")
+    private static class Acumulacao extends RecursiveTask<MomentosPolinomiais> {
+
+        private final int grauMaximo;
+        private final double[] x;
+        private final double[] y;
+        private final int inicio;
+        private final int fim;
+
+        Acumulacao(int grauMaximo, double[] x, double[] y, int inicio, int fim) {
+            this.grauMaximo = grauMaximo;
+            this.x = x;
+            this.y = y;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected MomentosPolinomiais compute() {
+            if (fim - inicio <= LIMITE_SEQUENCIAL) {
+                MomentosPolinomiais parcial = new MomentosPolinomiais(grauMaximo);
+                parcial.adicionar(inicio, fim, x, y);
+                return parcial;
+            }
+            int meio = (inicio + fim) >>> 1;
+            Acumulacao esquerda = new Acumulacao(grauMaximo, x, y, inicio, meio);
+            esquerda.fork();
+            MomentosPolinomiais parcial = new Acumulacao(grauMaximo, x, y, meio, fim).compute();
+            parcial.combinar(esquerda.join());
+            return parcial;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Operações elementares sobre trechos de arrays primitivos, implementadas de
+ * forma escalar ou com a Vector API
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+interface Nucleo {
+
+    double soma(double[] a, int inicio, int fim);
+
+    double produtoEscalar(double[] a, int inicioA, double[] b, int inicioB, int n);
+
+    void multiplicar(double[] a, int inicioA, double[] b, int inicioB, int n);
+
+    String getDescricao();
+}
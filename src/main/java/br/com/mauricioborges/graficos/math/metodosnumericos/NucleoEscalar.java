@@ -0,0 +1,57 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Implementação escalar das operações elementares, com quatro acumuladores
+ * independentes para aproveitar o paralelismo de instruções do processador
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class NucleoEscalar implements Nucleo {
+
+    @Override
+    public double soma(double[] a, int inicio, int fim) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = inicio;
+        for (; i + 3 < fim; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < fim; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double produtoEscalar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int d = inicioB - inicioA;
+        int fim = inicioA + n;
+        int i = inicioA;
+        for (; i + 3 < fim; i += 4) {
+            s0 += a[i] * b[i + d];
+            s1 += a[i + 1] * b[i + 1 + d];
+            s2 += a[i + 2] * b[i + 2 + d];
+            s3 += a[i + 3] * b[i + 3 + d];
+        }
+        for (; i < fim; i++) {
+            s0 += a[i] * b[i + d];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public void multiplicar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        for (int i = 0; i < n; i++) {
+            a[inicioA + i] *= b[inicioB + i];
+        }
+    }
+
+    @Override
+    public String getDescricao() {
+        return "escalar";
+    }
+}
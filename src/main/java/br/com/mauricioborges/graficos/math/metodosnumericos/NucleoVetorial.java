@@ -0,0 +1,70 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementação das operações elementares com a Vector API
+ * (jdk.incubator.vector).<br>
+ * Esta classe só é carregada quando o módulo está presente; caso contrário é
+ * usada a {@link NucleoEscalar}.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class NucleoVetorial implements Nucleo {
+
+    // a espécie precisa ser constante para que o JIT gere instruções SIMD
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public double soma(double[] a, int inicio, int fim) {
+        DoubleVector acc = DoubleVector.zero(ESPECIE);
+        int i = inicio;
+        int limite = inicio + ESPECIE.loopBound(fim - inicio);
+        for (; i < limite; i += ESPECIE.length()) {
+            acc = acc.add(DoubleVector.fromArray(ESPECIE, a, i));
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < fim; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    @Override
+    public double produtoEscalar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        DoubleVector acc = DoubleVector.zero(ESPECIE);
+        int i = 0;
+        int limite = ESPECIE.loopBound(n);
+        for (; i < limite; i += ESPECIE.length()) {
+            acc = DoubleVector.fromArray(ESPECIE, a, inicioA + i)
+                    .fma(DoubleVector.fromArray(ESPECIE, b, inicioB + i), acc);
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            s += a[inicioA + i] * b[inicioB + i];
+        }
+        return s;
+    }
+
+    @Override
+    public void multiplicar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        int i = 0;
+        int limite = ESPECIE.loopBound(n);
+        for (; i < limite; i += ESPECIE.length()) {
+            DoubleVector.fromArray(ESPECIE, a, inicioA + i)
+                    .mul(DoubleVector.fromArray(ESPECIE, b, inicioB + i))
+                    .intoArray(a, inicioA + i);
+        }
+        for (; i < n; i++) {
+            a[inicioA + i] *= b[inicioB + i];
+        }
+    }
+
+    @Override
+    public String getDescricao() {
+        return "Vector API (" + ESPECIE.vectorBitSize() + " bits)";
+    }
+}
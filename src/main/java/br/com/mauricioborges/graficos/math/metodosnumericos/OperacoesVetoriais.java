@@ -0,0 +1,86 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Operações sobre trechos de arrays primitivos usadas pelos métodos
+ * numéricos.<br>
+ * Quando o módulo jdk.incubator.vector está disponível (por exemplo, com
+ * <code>--add-modules jdk.incubator.vector</code>), as operações usam
+ * instruções SIMD; caso contrário, usam uma implementação escalar.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public abstract class OperacoesVetoriais {
+
+    private static final Nucleo NUCLEO = criarNucleo();
+
+    private static Nucleo criarNucleo() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new NucleoVetorial();
+            } catch (LinkageError e) {
+                // módulo presente, mas inacessível a este módulo
+            }
+        }
+        return new NucleoEscalar();
+    }
+
+    /**
+     * Informa se as operações estão usando a Vector API
+     *
+     * @return true or false
+     */
+    public static boolean isVetorizado() {
+        return NUCLEO instanceof NucleoVetorial;
+    }
+
+    /**
+     * Descrição da implementação em uso
+     *
+     * @return descrição
+     */
+    public static String getDescricao() {
+        return NUCLEO.getDescricao();
+    }
+
+    /**
+     * Soma dos elementos a[inicio..fim)
+     *
+     * @param a array
+     * @param inicio primeiro índice (inclusivo)
+     * @param fim último índice (exclusivo)
+     * @return soma
+     */
+    public static double soma(double[] a, int inicio, int fim) {
+        return NUCLEO.soma(a, inicio, fim);
+    }
+
+    /**
+     * Produto escalar de n elementos de a, a partir de inicioA, com n
+     * elementos de b, a partir de inicioB
+     *
+     * @param a primeiro array
+     * @param inicioA primeiro índice em a
+     * @param b segundo array
+     * @param inicioB primeiro índice em b
+     * @param n número de elementos
+     * @return produto escalar
+     */
+    public static double produtoEscalar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        return NUCLEO.produtoEscalar(a, inicioA, b, inicioB, n);
+    }
+
+    /**
+     * Multiplica, no próprio array a, n elementos de a a partir de inicioA
+     * pelos elementos correspondentes de b a partir de inicioB
+     *
+     * @param a array multiplicado
+     * @param inicioA primeiro índice em a
+     * @param b multiplicadores
+     * @param inicioB primeiro índice em b
+     * @param n número de elementos
+     */
+    public static void multiplicar(double[] a, int inicioA, double[] b, int inicioB, int n) {
+        NUCLEO.multiplicar(a, inicioA, b, inicioB, n);
+    }
+}
@@ -0,0 +1,235 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Quantil (ou mediana) de uma janela deslizante de pontos, com custo
+ * O(log k) por ponto.<br>
+ * A janela é dividida em dois heaps indexados pela posição do ponto na janela
+ * circular: um heap de máximo com os menores valores, cujo topo é o elemento
+ * de ordem ⌊q (k - 1)⌋, e um heap de mínimo com os demais. Ao deslizar a
+ * janela, o ponto que sai é removido diretamente do seu heap, sem reordenar
+ * a janela. O quantil é interpolado linearmente entre os dois topos.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+public class QuantilMovel {
+
+    // parâmetros
+    private final int k;
+    private final double q;
+    private final int tamanhoInferior;
+    private final double fracao;
+
+    // janela circular e heaps
+    private final double[] valores;
+    private final Heap inferior;
+    private final Heap superior;
+    private long adicionados = 0;
+
+    /**
+     * QUANTIL MÓVEL
+     *
+     * @param k (número de pontos da janela)
+     * @param q (quantil entre 0 e 1; 0,5 é a mediana)
+     */
+    public QuantilMovel(int k, double q) {
+        if (k < 1) {
+            throw new IllegalArgumentException("O número de pontos da janela deve ser maior do que zero.");
+        }
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1.");
+        }
+        this.k = k;
+        this.q = q;
+        double posicao = q * (k - 1);
+        this.tamanhoInferior = (int) Math.floor(posicao) + 1;
+        this.fracao = posicao - Math.floor(posicao);
+        this.valores = new double[k];
+        this.inferior = new Heap(valores, k, true);
+        this.superior = new Heap(valores, k, false);
+    }
+
+    /**
+     * Obter o quantil da janela
+     *
+     * @return quantil entre 0 e 1
+     */
+    public double getQ() {
+        return q;
+    }
+
+    /**
+     * Informa se a janela já recebeu k pontos
+     *
+     * @return true or false
+     */
+    public boolean isCheia() {
+        return adicionados >= k;
+    }
+
+    /**
+     * Adiciona um ponto à janela; com a janela cheia, o ponto mais antigo é
+     * descartado
+     *
+     * @param valor valor do ponto
+     */
+    public void adicionar(double valor) {
+        int posicao = (int) (adicionados % k);
+        if (adicionados >= k) {
+            if (inferior.contem(posicao)) {
+                inferior.remover(posicao);
+            } else {
+                superior.remover(posicao);
+            }
+        }
+        valores[posicao] = valor;
+        if (inferior.tamanho() > 0 && valor <= valores[inferior.topo()]) {
+            inferior.inserir(posicao);
+        } else {
+            superior.inserir(posicao);
+        }
+        adicionados++;
+
+        // o heap inferior deve conter os tamanhoInferior menores valores
+        int alvo = (int) Math.min(tamanhoInferior, Math.min(adicionados, k));
+        while (inferior.tamanho() > alvo) {
+            superior.inserir(inferior.remover(inferior.topo()));
+        }
+        while (inferior.tamanho() < alvo) {
+            inferior.inserir(superior.remover(superior.topo()));
+        }
+    }
+
+    /**
+     * Obter o quantil dos pontos na janela (exige a janela cheia)
+     *
+     * @return quantil
+     */
+    public double getQuantil() {
+        if (!isCheia()) {
+            throw new IllegalStateException("A janela ainda não possui " + k + " pontos.");
+        }
+        double menor = valores[inferior.topo()];
+        if (fracao == 0 || superior.tamanho() == 0) {
+            return menor;
+        }
+        return menor + fracao * (valores[superior.topo()] - menor);
+    }
+
+    /**
+     * Calcula o quantil móvel de uma série
+     *
+     * @param n número de pontos da série
+     * @param y valores da série
+     * @param k número de pontos da janela
+     * @param q quantil entre 0 e 1
+     * @param saida array onde os n - k + 1 quantis serão escritos (o primeiro
+     * corresponde ao ponto k - 1 da série)
+     */
+    public static void calcular(int n, double[] y, int k, double q, double[] saida) {
+        if (k > n) {
+            throw new IllegalArgumentException("O número de pontos da janela deve estar entre 1 e " + n + ".");
+        }
+        QuantilMovel janela = new QuantilMovel(k, q);
+        for (int i = 0; i < n; i++) {
+            janela.adicionar(y[i]);
+            if (i >= k - 1) {
+                saida[i - k + 1] = janela.getQuantil();
+            }
+        }
+    }
+
+    /**
+     * Heap de posições da janela, ordenado pelos valores dessas posições e
+     * indexado para permitir remover qualquer posição em O(log k)
+     */
+    private static class Heap {
+
+        private final double[] valores;
+        private final int[] heap;
+        private final int[] indice; // índice no heap de cada posição, ou -1
+        private final boolean maximo;
+        private int tamanho = 0;
+
+        Heap(double[] valores, int capacidade, boolean maximo) {
+            this.valores = valores;
+            this.heap = new int[capacidade];
+            this.indice = new int[capacidade];
+            this.maximo = maximo;
+            fill(indice, -1);
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        int topo() {
+            return heap[0];
+        }
+
+        boolean contem(int posicao) {
+            return indice[posicao] >= 0;
+        }
+
+        void inserir(int posicao) {
+            heap[tamanho] = posicao;
+            indice[posicao] = tamanho;
+            subir(tamanho++);
+        }
+
+        int remover(int posicao) {
+            int i = indice[posicao];
+            int ultimo = heap[--tamanho];
+            indice[posicao] = -1;
+            if (i != tamanho) {
+                heap[i] = ultimo;
+                indice[ultimo] = i;
+                subir(i);
+                descer(indice[ultimo]);
+            }
+            return posicao;
+        }
+
+        private boolean antes(int a, int b) {
+            return maximo ? valores[a] > valores[b] : valores[a] < valores[b];
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!antes(heap[i], heap[pai])) {
+                    break;
+                }
+                trocar(i, pai);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && antes(heap[filho + 1], heap[filho])) {
+                    filho++;
+                }
+                if (!antes(heap[filho], heap[i])) {
+                    break;
+                }
+                trocar(i, filho);
+                i = filho;
+            }
+        }
+
+        private void trocar(int i, int j) {
+            int a = heap[i];
+            heap[i] = heap[j];
+            heap[j] = a;
+            indice[heap[i]] = i;
+            indice[heap[j]] = j;
+        }
+    }
+}
@@ -1,46 +1,66 @@
-package br.com.mauricioborges.graficos.math.metodosnumericos;
-
-/**
- * Método das Substituições Retroativas
- *
- * @author Mauricio Borges
- * @since 2018
- */
-public class SubstituicoesRetroativas {
-
-    // parâmetros do método
-    private final int n;
-    private final Double[][] U;
-    private final Double[] D;
-
-    /**
-     * MÉTODO DAS SUBSTITUIÇÕES RETROATIVAS
-     *
-     * @param n (ordem da matriz U)
-     * @param U (matriz triangular superior)
-     * @param D (vetor independente)
-     */
-    public SubstituicoesRetroativas(int n, Double[][] U, Double[] D) {
-        this.n = n;
-        this.U = U;
-        this.D = D;
-    }
-
-    /**
-     * Resolve o método
-     *
-     * @return solução do sistema triangular superior
-     */
-    public Double[] solve() {
-        Double[] X = new Double[n + 1];
-        X[n] = D[n] / U[n][n];
-        for (int i = (n - 1); i >= 1; i--) {
-            double soma = 0;
-            for (int j = (i + 1); j <= n; j++) {
-                soma += U[i][j] * X[j];
-            }
-            X[i] = (D[i] - soma) / U[i][i];
-        }
-        return X;
-    }
-}
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Método das Substituições Retroativas
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+public class SubstituicoesRetroativas {
+
+    // parâmetros do método
+    private final int n;
+    private final Double[][] U;
+    private final Double[] D;
+
+    /**
+     * MÉTODO DAS SUBSTITUIÇÕES RETROATIVAS
+     *
+     * @param n (ordem da matriz U)
+     * @param U (matriz triangular superior)
+     * @param D (vetor independente)
+     */
+    public SubstituicoesRetroativas(int n, Double[][] U, Double[] D) {
+        this.n = n;
+        this.U = U;
+        this.D = D;
+    }
+
+    /**
+     * Resolve o método
+     *
+     * @return solução do sistema triangular superior
+     */
+    public Double[] solve() {
+        Double[] X = new Double[n + 1];
+        X[n] = D[n] / U[n][n];
+        for (int i = (n - 1); i >= 1; i--) {
+            double soma = 0;
+            for (int j = (i + 1); j <= n; j++) {
+                soma += U[i][j] * X[j];
+            }
+            X[i] = (D[i] - soma) / U[i][i];
+        }
+        return X;
+    }
+
+    /**
+     * Resolve o sistema triangular superior Lᵀ x = d lendo a transposta
+     * diretamente da matriz triangular inferior L (ordem de linhas, índices
+     * começando em 0), sem construir a matriz U
+     *
+     * @param n ordem da matriz L
+     * @param L matriz triangular inferior (L[i * n + j])
+     * @param d vetor independente
+     * @param x vetor onde a solução será escrita (pode ser o próprio d)
+     */
+    public static void resolverTransposta(int n, double[] L, double[] d, double[] x) {
+        for (int i = n - 1; i >= 0; i--) {
+            double soma = 0;
+            for (int j = i + 1; j < n; j++) {
+                soma += L[j * n + i] * x[j];
+            }
+            x[i] = (d[i] - soma) / L[i * n + i];
+        }
+    }
+}
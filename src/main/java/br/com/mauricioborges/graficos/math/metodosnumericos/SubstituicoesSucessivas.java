@@ -1,46 +1,66 @@
-package br.com.mauricioborges.graficos.math.metodosnumericos;
-
-/**
- * Método das Substituições Sucessivas
- *
- * @author Mauricio Borges
- * @since 2018
- */
-public class SubstituicoesSucessivas {
-
-    // parâmetros do método
-    private final int n;
-    private final Double[][] L;
-    private final Double[] C;
-
-    /**
-     * MÉTODO DAS SUBSTITUIÇÕES SUCESSIVAS
-     *
-     * @param n (ordem da matriz L)
-     * @param L (matriz triangular inferior)
-     * @param C (vetor independente)
-     */
-    public SubstituicoesSucessivas(int n, Double[][] L, Double[] C) {
-        this.n = n;
-        this.L = L;
-        this.C = C;
-    }
-
-    /**
-     * Resolve o método
-     *
-     * @return solução do sistema triangular inferior
-     */
-    public Double[] solve() {
-        Double[] X = new Double[n + 1];
-        X[1] = C[1] / L[1][1];
-        for (int i = 2; i <= n; i++) {
-            double soma = 0;
-            for (int j = 1; j <= (i - 1); j++) {
-                soma += L[i][j] * X[j];
-            }
-            X[i] = (C[i] - soma) / L[i][i];
-        }
-        return X;
-    }
-}
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+/**
+ * Método das Substituições Sucessivas
+ *
+ * @author Mauricio Borges
+ * @since 2018
+ */
+public class SubstituicoesSucessivas {
+
+    // parâmetros do método
+    private final int n;
+    private final Double[][] L;
+    private final Double[] C;
+
+    /**
+     * MÉTODO DAS SUBSTITUIÇÕES SUCESSIVAS
+     *
+     * @param n (ordem da matriz L)
+     * @param L (matriz triangular inferior)
+     * @param C (vetor independente)
+     */
+    public SubstituicoesSucessivas(int n, Double[][] L, Double[] C) {
+        this.n = n;
+        this.L = L;
+        this.C = C;
+    }
+
+    /**
+     * Resolve o método
+     *
+     * @return solução do sistema triangular inferior
+     */
+    public Double[] solve() {
+        Double[] X = new Double[n + 1];
+        X[1] = C[1] / L[1][1];
+        for (int i = 2; i <= n; i++) {
+            double soma = 0;
+            for (int j = 1; j <= (i - 1); j++) {
+                soma += L[i][j] * X[j];
+            }
+            X[i] = (C[i] - soma) / L[i][i];
+        }
+        return X;
+    }
+
+    /**
+     * Resolve o sistema triangular inferior L x = c, com L armazenada em ordem
+     * de linhas e índices começando em 0
+     *
+     * @param n ordem da matriz L
+     * @param L matriz triangular inferior (L[i * n + j])
+     * @param c vetor independente
+     * @param x vetor onde a solução será escrita (pode ser o próprio c)
+     */
+    public static void resolver(int n, double[] L, double[] c, double[] x) {
+        for (int i = 0; i < n; i++) {
+            int linha = i * n;
+            double soma = 0;
+            for (int j = 0; j < i; j++) {
+                soma += L[linha + j] * x[j];
+            }
+            x[i] = (c[i] - soma) / L[linha + i];
+        }
+    }
+}
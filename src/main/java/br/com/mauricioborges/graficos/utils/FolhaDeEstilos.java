@@ -0,0 +1,231 @@
+package br.com.mauricioborges.graficos.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.chart.XYChart;
+
+/**
+ * Folha de estilos gerada para as séries de um gráfico.<br>
+ * Cada série estilizada recebe uma regra por parte (linha, marcadores e
+ * símbolo da legenda). A linha e os marcadores são identificados por uma
+ * classe própria da série ("graficos-serie-{n}"), colocada uma única vez em
+ * cada nó quando ele é criado: a classe "series{i}" que o gráfico coloca
+ * nesses nós é a posição da série quando ela foi adicionada e não é
+ * renumerada quando uma série anterior é removida. O símbolo da legenda, que
+ * o gráfico recria com a posição atual sempre que as séries mudam, é
+ * identificado por essa posição. Definir de novo uma propriedade substitui o
+ * valor anterior em vez de acumular texto.<br>
+ * Trocar a folha faz o JavaFX reaplicar o CSS a todos os nós do gráfico, por
+ * isso as alterações são acumuladas: a folha inteira (uma regra por série) é
+ * refeita e trocada uma única vez, no próximo pulso da cena, antes da
+ * aplicação do CSS, qualquer que seja o número de propriedades e de séries
+ * alteradas nesse intervalo. Fora de uma cena, a troca é imediata.
+ *
+ * @author Mauricio Borges
+ * @since 10/2022
+ */
+final class FolhaDeEstilos {
+
+    private static final Object CHAVE = new Object();
+    private static final String PREFIXO = "graficos-serie-";
+
+    private final XYChart<?, ?> grafico;
+    // parte -> propriedade -> valor, para cada série
+    private final Map<XYChart.Series<?, ?>, Map<Parte, Map<String, String>>> estilos = new IdentityHashMap<>();
+    // classe própria de cada série estilizada
+    private final Map<XYChart.Series<?, ?>, Marcacao> marcacoes = new IdentityHashMap<>();
+    private long proximaClasse = 0;
+    private String folha = null;
+    // cena em que a troca da folha está agendada, ou null
+    private Scene agendada = null;
+    private final Runnable aplicacao = this::aplicarAgendada;
+
+    private FolhaDeEstilos(XYChart<?, ?> grafico) {
+        this.grafico = grafico;
+        grafico.getData().addListener((ListChangeListener.Change<? extends XYChart.Series<?, ?>> c) -> {
+            // séries adicionadas de novo têm os nós recriados pelo gráfico
+            while (c.next()) {
+                for (XYChart.Series<?, ?> serie : c.getAddedSubList()) {
+                    Marcacao marcacao = marcacoes.get(serie);
+                    if (marcacao != null) {
+                        marcacao.marcar(serie.getNode());
+                        serie.getData().forEach(ponto -> marcacao.marcar(ponto.getNode()));
+                    }
+                }
+            }
+            agendar();
+        });
+    }
+
+    /**
+     * Obter a folha de estilos de um gráfico, criando-a na primeira chamada
+     *
+     * @param grafico gráfico
+     * @return folha de estilos
+     */
+    static FolhaDeEstilos de(XYChart<?, ?> grafico) {
+        return (FolhaDeEstilos) grafico.getProperties().computeIfAbsent(CHAVE, k -> new FolhaDeEstilos(grafico));
+    }
+
+    /**
+     * Definir uma propriedade CSS de uma parte da série
+     *
+     * @param serie série do gráfico
+     * @param parte parte da série
+     * @param propriedade propriedade CSS
+     * @param valor valor, ou null para voltar ao valor padrão
+     */
+    void definir(XYChart.Series<?, ?> serie, Parte parte, String propriedade, String valor) {
+        marcacoes.computeIfAbsent(serie, Marcacao::new);
+        Map<String, String> propriedades = estilos.computeIfAbsent(serie, s -> new LinkedHashMap<>())
+                .computeIfAbsent(parte, s -> new LinkedHashMap<>());
+        String anterior = valor != null ? propriedades.put(propriedade, valor) : propriedades.remove(propriedade);
+        if (!Objects.equals(valor, anterior)) {
+            agendar();
+        }
+    }
+
+    /**
+     * Agenda a troca da folha para o próximo pulso da cena do gráfico
+     */
+    private void agendar() {
+        Scene cena = grafico.getScene();
+        if (cena == agendada && cena != null) {
+            return;
+        }
+        if (agendada != null) {
+            agendada.removePreLayoutPulseListener(aplicacao);
+            agendada = null;
+        }
+        if (cena == null) {
+            aplicar();
+            return;
+        }
+        agendada = cena;
+        cena.addPreLayoutPulseListener(aplicacao);
+        Platform.requestNextPulse();
+    }
+
+    private void aplicarAgendada() {
+        if (agendada != null) {
+            agendada.removePreLayoutPulseListener(aplicacao);
+            agendada = null;
+        }
+        aplicar();
+    }
+
+    private void aplicar() {
+        List<? extends XYChart.Series<?, ?>> series = grafico.getData();
+        estilos.keySet().retainAll(series);
+        marcacoes.values().removeIf(marcacao -> {
+            if (estilos.containsKey(marcacao.serie)) {
+                return false;
+            }
+            marcacao.desfazer();
+            return true;
+        });
+        StringBuilder css = new StringBuilder();
+        for (int i = 0; i < series.size(); i++) {
+            Map<Parte, Map<String, String>> partes = estilos.get(series.get(i));
+            if (partes == null) {
+                continue;
+            }
+            String classe = marcacoes.get(series.get(i)).classe;
+            for (Map.Entry<Parte, Map<String, String>> parte : partes.entrySet()) {
+                if (parte.getValue().isEmpty()) {
+                    continue;
+                }
+                css.append(parte.getKey().seletor(classe, i)).append(" {");
+                parte.getValue().forEach((propriedade, valor)
+                        -> css.append(' ').append(propriedade).append(": ").append(valor).append(';'));
+                css.append(" }\n");
+            }
+        }
+        String nova = css.length() == 0 ? null
+                : "data:text/css;base64," + Base64.getEncoder().encodeToString(css.toString().getBytes(UTF_8));
+        if (nova == null ? folha == null : nova.equals(folha)) {
+            return;
+        }
+        if (folha != null) {
+            grafico.getStylesheets().remove(folha);
+        }
+        if (nova != null) {
+            grafico.getStylesheets().add(nova);
+        }
+        folha = nova;
+    }
+
+    /**
+     * Partes estilizáveis de uma série
+     */
+    static enum Parte {
+        /**
+         * Linha da série
+         */
+        LINHA,
+        /**
+         * Marcadores dos pontos da série (sem o símbolo da legenda)
+         */
+        MARCADOR,
+        /**
+         * Marcadores dos pontos e símbolo da legenda da série
+         */
+        SIMBOLO;
+
+        private String seletor(String classe, int posicao) {
+            return switch (this) {
+                case LINHA ->
+                    ".chart-series-line." + classe;
+                case MARCADOR ->
+                    ".chart-line-symbol." + classe;
+                case SIMBOLO ->
+                    ".chart-line-symbol." + classe + ", .chart-legend-item-symbol.series" + posicao;
+            };
+        }
+    }
+
+    /**
+     * Classe própria de uma série, mantida na linha e nos marcadores dos
+     * pontos à medida que o gráfico os cria
+     */
+    private final class Marcacao {
+
+        final XYChart.Series<?, ?> serie;
+        final String classe = PREFIXO + proximaClasse++;
+        private final ChangeListener<Node> linha = (observable, anterior, novo) -> marcar(novo);
+        private final ListChangeListener<Object> pontos = c -> {
+            while (c.next()) {
+                c.getAddedSubList().forEach(ponto -> marcar(((XYChart.Data<?, ?>) ponto).getNode()));
+            }
+        };
+
+        Marcacao(XYChart.Series<?, ?> serie) {
+            this.serie = serie;
+            serie.nodeProperty().addListener(linha);
+            serie.getData().addListener(pontos);
+            marcar(serie.getNode());
+            serie.getData().forEach(ponto -> marcar(ponto.getNode()));
+        }
+
+        void marcar(Node no) {
+            if (no != null && !no.getStyleClass().contains(classe)) {
+                no.getStyleClass().add(classe);
+            }
+        }
+
+        void desfazer() {
+            serie.nodeProperty().removeListener(linha);
+            serie.getData().removeListener(pontos);
+        }
+    }
+}